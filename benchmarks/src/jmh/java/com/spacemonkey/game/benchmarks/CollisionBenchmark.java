@@ -0,0 +1,72 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.spacemonkey.game.Model.SpatialHash;
+import com.spacemonkey.game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** The ship-versus-everything circle test, brute force and through the broadphase. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+    @Param({"60", "1000", "100000"})
+    public int entities;
+
+    private float[] x;
+    private float[] y;
+    private float[] radius;
+    private SpatialHash hash;
+    private IntArray results;
+    private float shipX;
+    private float shipY;
+    private final float shipRadius = 40.0f;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        x = new float[entities];
+        y = new float[entities];
+        radius = new float[entities];
+        for (int i = 0; i < entities; i++) {
+            x[i] = random.nextFloat() * World.WORLD_WIDTH;
+            y[i] = random.nextFloat() * World.WORLD_HEIGHT;
+            radius[i] = 15.0f + random.nextFloat() * 45.0f;
+        }
+        hash = new SpatialHash(World.WORLD_WIDTH, World.WORLD_HEIGHT, 120.0f, 128.0f, entities);
+        results = new IntArray(entities);
+        shipX = World.WORLD_WIDTH / 2;
+        shipY = World.WORLD_HEIGHT / 2;
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int hits = 0;
+        for (int i = 0; i < entities; i++) {
+            if (SpatialHash.overlaps(shipX, shipY, shipRadius, x[i], y[i], radius[i])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /** Rebuild plus one query, which is what a tick pays. */
+    @Benchmark
+    public int broadphase() {
+        hash.clear();
+        for (int i = 0; i < entities; i++) {
+            hash.insert(i, x[i], y[i], radius[i]);
+        }
+        return hash.queryCircle(shipX, shipY, shipRadius, results);
+    }
+}
@@ -0,0 +1,53 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.Model.Ship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Controller.updateDash while steering, and with a dash requested every 240 ticks. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ControllerBenchmark {
+    private static final float DT = 1.0f / 120.0f;
+
+    private Ship ship;
+    private Controller controller;
+    private InputCommand input;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        ship = new Ship();
+        controller = new Controller(ship);
+        input = new InputCommand();
+    }
+
+    @Benchmark
+    public Controller steer() {
+        input.right = (tick / 120) % 2 == 0;
+        input.up = (tick / 90) % 2 == 0;
+        tick++;
+        controller.updateDash(input, DT);
+        return controller;
+    }
+
+    @Benchmark
+    public Controller steerAndDash() {
+        input.right = true;
+        input.up = (tick / 90) % 2 == 0;
+        input.dash = tick % 240 == 0;
+        tick++;
+        controller.updateDash(input, DT);
+        return controller;
+    }
+}
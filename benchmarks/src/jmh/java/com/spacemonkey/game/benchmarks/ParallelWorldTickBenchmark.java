@@ -0,0 +1,75 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full world tick on large fields with the asteroid update spread over {@code threads} workers,
+ * for scaling numbers. {@code threads = 1} is the serial path with no pool at all, the baseline.
+ * Run with {@code ./gradlew :benchmarks:jmh -PjmhInclude=ParallelWorldTick}.
+ * <p>
+ * The ship is healed and made vulnerable again before every tick, so the session never ends, the
+ * field stays at its full size and the collision test is part of every measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelWorldTickBenchmark {
+    private static final float DT = 1.0f / 120.0f;
+    private static final long SEED = 42L;
+
+    @Param({"10000", "100000", "1000000"})
+    public int asteroids;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private World world;
+    private ForkJoinPool pool;
+    private InputCommand input;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        world = new World(asteroids, BenchmarkAssets.spawnTables(), SEED);
+        world.setAsteroidFloor(asteroids);
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            world.setParallelism(pool);
+        }
+        input = new InputCommand();
+        // One tick fills the field to the floor.
+        world.step(input, DT);
+    }
+
+    @Benchmark
+    public World tick() {
+        input.right = (tick / 120) % 2 == 0;
+        input.up = (tick / 90) % 2 == 0;
+        tick++;
+
+        world.getShip().setHealth(world.getShip().getMaxHealth());
+        world.getController().setInvulnerable(false, 0.0f);
+        world.step(input, DT);
+        return world;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import com.spacemonkey.game.Model.Ship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Ship.updateMovement with input held and while coasting to a stop. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShipBenchmark {
+    private static final float DT = 1.0f / 120.0f;
+
+    private Ship ship;
+    private Vector2 input;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        ship = new Ship();
+        input = new Vector2();
+    }
+
+    @Benchmark
+    public Vector2 accelerate() {
+        input.set(1.0f, 1.0f);
+        ship.updateMovement(input, DT);
+        return ship.getPosition();
+    }
+
+    /** Alternates 60 ticks of thrust with 60 ticks of coasting so the deceleration branch runs. */
+    @Benchmark
+    public Vector2 accelerateAndCoast() {
+        if ((tick++ / 60) % 2 == 0) {
+            input.set(1.0f, 0.0f);
+        } else {
+            input.setZero();
+        }
+        ship.updateMovement(input, DT);
+        return ship.getPosition();
+    }
+}
@@ -0,0 +1,62 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.spacemonkey.game.Model.AsteroidFactory;
+import com.spacemonkey.game.Model.AsteroidField;
+import com.spacemonkey.game.Model.Fruit;
+import com.spacemonkey.game.Model.FruitFactory;
+import com.spacemonkey.game.Model.Ship;
+import com.spacemonkey.game.Model.SpawnTables;
+import com.spacemonkey.game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Spawn throughput of the asteroid and fruit factories. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpawnBenchmark {
+    private static final long SEED = 42L;
+
+    /** Seconds into the session; selects the difficulty phase. */
+    @Param({"0", "15", "25"})
+    public double timePass;
+
+    private AsteroidFactory asteroidFactory;
+    private AsteroidField field;
+    private FruitFactory fruitFactory;
+    private Ship ship;
+
+    @Setup
+    public void setup() {
+        SpawnTables tables = BenchmarkAssets.spawnTables();
+        asteroidFactory = new AsteroidFactory(tables.getAsteroids(), new RandomXS128(SEED));
+        field = new AsteroidField(4096);
+        fruitFactory = new FruitFactory(World.MAX_FRUIT, tables.getFruits(), new RandomXS128(SEED));
+        ship = new Ship();
+    }
+
+    @Benchmark
+    public int createAsteroid() {
+        if (field.size() == field.capacity()) {
+            field.clear();
+        }
+        return asteroidFactory.CreateAstroid(field, timePass, World.WORLD_WIDTH, World.WORLD_HEIGHT);
+    }
+
+    @Benchmark
+    public int createFruit() {
+        Fruit fruit = fruitFactory.CreateFruit(timePass, World.WORLD_WIDTH, World.WORLD_HEIGHT, ship);
+        int value = fruit.getValuse();
+        fruitFactory.free(fruit);
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.spacemonkey.game.View.RawTextureData;
+import com.spacemonkey.game.View.TextureRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of loading a texture, up to having its pixels in memory ready for
+ * {@code glTexImage2D}: decoding the PNG against mapping the {@code .rtex} copy and touching every
+ * page of it. The GL upload itself is the same for both and is left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TextureDecodeBenchmark {
+    private static final int PAGE_SIZE = 4096;
+
+    @Param({"textures/bg.png", "atlas/game.png"})
+    public String path;
+
+    private FileHandle png;
+    private FileHandle raw;
+
+    @Setup
+    public void setup() {
+        GdxNativesLoader.load();
+        png = BenchmarkAssets.file(path);
+        raw = BenchmarkAssets.file(TextureRegistry.CACHE_DIR
+            + path.substring(0, path.length() - ".png".length()) + RawTextureData.EXTENSION);
+    }
+
+    @Benchmark
+    public int decodePng() {
+        Pixmap pixmap = new Pixmap(png);
+        int size = pixmap.getPixels().remaining();
+        pixmap.dispose();
+        return size;
+    }
+
+    @Benchmark
+    public int mapRaw() {
+        RawTextureData data = new RawTextureData(raw);
+        data.prepare();
+        ByteBuffer pixels = data.getPixels();
+        int sum = 0;
+        for (int i = 0; i < pixels.remaining(); i += PAGE_SIZE) {
+            sum += pixels.get(i);
+        }
+        return sum;
+    }
+}
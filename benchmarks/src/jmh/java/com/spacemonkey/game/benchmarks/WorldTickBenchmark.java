@@ -0,0 +1,64 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.Model.AsteroidField;
+import com.spacemonkey.game.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full fixed simulation tick with the asteroid population held at a target size.
+ * Asteroids culled by the tick are re-spawned inside the measured method, and a finished
+ * session is reset, so every invocation sees roughly the same field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorldTickBenchmark {
+    private static final float DT = 1.0f / 120.0f;
+    private static final long SEED = 42L;
+
+    @Param({"60", "1000", "100000"})
+    public int asteroids;
+
+    private World world;
+    private InputCommand input;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        world = new World(asteroids, BenchmarkAssets.spawnTables(), SEED);
+        input = new InputCommand();
+        refill();
+    }
+
+    @Benchmark
+    public World tick() {
+        input.right = (tick / 120) % 2 == 0;
+        input.up = (tick / 90) % 2 == 0;
+        input.dash = tick % 240 == 0;
+        tick++;
+
+        world.step(input, DT);
+        if (world.isSessionOver()) {
+            world.reset();
+        }
+        refill();
+        return world;
+    }
+
+    private void refill() {
+        AsteroidField field = world.getAsteroids();
+        while (field.size() < asteroids) {
+            world.getAsteroidFactory().CreateAstroid(field, world.getTimePass(), World.WORLD_WIDTH, World.WORLD_HEIGHT);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.World;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Steps a headless {@link World} for a number of frames with scripted input and fails if the
+ * thread allocated any memory while doing so. Run with {@code ./gradlew :benchmarks:checkAllocations}.
+ * <p>
+ * Each frame runs two 120 Hz ticks, like the game at 60 fps. The script steers, dashes and
+ * loses or wins sessions, so resets and fruit pickups are covered too. Warm-up frames run
+ * first, so pools are full and the JIT has settled before counting starts.
+ */
+public final class AllocationGate {
+    private static final float SIMULATION_STEP = 1.0f / 120.0f;
+    private static final int TICKS_PER_FRAME = 2;
+    private static final int DEFAULT_WARMUP_FRAMES = 20000;
+    private static final int DEFAULT_FRAMES = 20000;
+    private static final long SEED = 42L;
+
+    private AllocationGate() {
+    }
+
+    public static void main(String[] args) {
+        int warmupFrames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WARMUP_FRAMES;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM doesn't report per-thread allocation");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        World world = new World(BenchmarkAssets.spawnTables(), SEED);
+        InputCommand input = new InputCommand();
+        int frame = 0;
+        for (int i = 0; i < warmupFrames; i++) {
+            runFrame(world, input, frame++);
+        }
+
+        // Reading the counter can allocate a little on some JVMs; measure that and subtract it.
+        long overhead = threads.getThreadAllocatedBytes(threadId);
+        overhead = threads.getThreadAllocatedBytes(threadId) - overhead;
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < frames; i++) {
+            runFrame(world, input, frame++);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        System.out.println("Simulated " + frames + " frames (" + frames * TICKS_PER_FRAME + " ticks) after "
+            + warmupFrames + " warm-up frames: " + allocated + " bytes allocated");
+        if (allocated > 0) {
+            System.err.println("Allocation gate failed: the simulation allocated "
+                + ((double) allocated / frames) + " bytes per frame");
+            System.exit(1);
+        }
+    }
+
+    /** One frame of the scripted input: steer, dash every 100 frames, two ticks, reset when over. */
+    static void runFrame(World world, InputCommand input, int frame) {
+        input.up = (frame / 90) % 2 == 0;
+        input.down = !input.up && (frame / 45) % 3 == 0;
+        input.right = (frame / 120) % 2 == 0;
+        input.left = !input.right && (frame / 200) % 2 == 0;
+        input.dash = frame % 100 == 0;
+
+        for (int tick = 0; tick < TICKS_PER_FRAME; tick++) {
+            world.step(input, SIMULATION_STEP);
+            input.dash = false;
+        }
+        if (world.isSessionOver()) {
+            world.reset();
+        }
+    }
+}
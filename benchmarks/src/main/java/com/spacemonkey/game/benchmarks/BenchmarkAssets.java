@@ -0,0 +1,23 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.spacemonkey.game.Model.SpawnTables;
+
+import java.io.File;
+
+/**
+ * Finds the game's assets without a libGDX backend. The build passes the directory in the
+ * {@code spacemonkey.assets} system property; otherwise it is assumed to be {@code ../assets}.
+ */
+public final class BenchmarkAssets {
+    private BenchmarkAssets() {
+    }
+
+    public static FileHandle file(String path) {
+        return new FileHandle(new File(System.getProperty("spacemonkey.assets", "../assets"), path));
+    }
+
+    public static SpawnTables spawnTables() {
+        return SpawnTables.load(file(SpawnTables.DEFAULT_FILE));
+    }
+}
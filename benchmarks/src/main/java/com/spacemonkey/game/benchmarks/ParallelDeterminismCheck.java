@@ -0,0 +1,57 @@
+package com.spacemonkey.game.benchmarks;
+
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.World;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Steps a serial and a parallel {@link World} side by side from the same seed and input and fails
+ * on the first frame their checksums differ. Run with {@code ./gradlew :benchmarks:checkParallelDeterminism}.
+ * <p>
+ * The field is held well above {@link World#PARALLEL_THRESHOLD}, so the parallel world really
+ * splits its asteroids. The session is lost and reset many times, so the serial path below the
+ * threshold and the switch between the two paths are covered as well.
+ */
+public final class ParallelDeterminismCheck {
+    private static final int DEFAULT_FRAMES = 2000;
+    private static final int DEFAULT_ASTEROIDS = 50000;
+    private static final long SEED = 42L;
+
+    private ParallelDeterminismCheck() {
+    }
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        int asteroids = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ASTEROIDS;
+        // At least two workers even on one core, so chunks really run on different threads.
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        World serial = new World(asteroids, BenchmarkAssets.spawnTables(), SEED);
+        World parallel = new World(asteroids, BenchmarkAssets.spawnTables(), SEED);
+        serial.setAsteroidFloor(asteroids);
+        parallel.setAsteroidFloor(asteroids);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        parallel.setParallelism(pool);
+
+        InputCommand serialInput = new InputCommand();
+        InputCommand parallelInput = new InputCommand();
+        try {
+            for (int frame = 0; frame < frames; frame++) {
+                AllocationGate.runFrame(serial, serialInput, frame);
+                AllocationGate.runFrame(parallel, parallelInput, frame);
+                if (serial.checksum() != parallel.checksum()) {
+                    System.err.println("Parallel determinism check failed: frame " + frame + ", serial checksum "
+                        + Long.toHexString(serial.checksum()) + ", parallel " + Long.toHexString(parallel.checksum()));
+                    System.exit(1);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.println("Simulated " + frames + " frames with " + asteroids + " asteroids on " + threads
+            + " threads: identical to serial, " + serial.getShipHits() + " ship hits, checksum "
+            + Long.toHexString(serial.checksum()));
+    }
+}
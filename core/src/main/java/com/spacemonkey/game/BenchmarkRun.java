@@ -0,0 +1,80 @@
+package com.spacemonkey.game;
+
+import com.badlogic.gdx.utils.FloatArray;
+
+import java.util.Arrays;
+
+/**
+ * Collects every frame time of a benchmark run after a warm-up and summarises them. The lows follow
+ * the usual definition: the "1% low" is the frame rate averaged over the slowest 1% of frames.
+ */
+public class BenchmarkRun {
+    private final float warmupSeconds;
+    private final float durationSeconds;
+    private final FloatArray frameMillis;
+
+    private float elapsed = 0.0f;
+    private float measured = 0.0f;
+
+    public BenchmarkRun(float warmupSeconds, float durationSeconds) {
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        // Room for a few thousand frames per second, so the array rarely grows mid-run.
+        this.frameMillis = new FloatArray((int)(durationSeconds * 2000.0f));
+    }
+
+    /** Adds a frame and returns whether the run is over. */
+    public boolean frame(float delta) {
+        elapsed += delta;
+        if (elapsed > warmupSeconds) {
+            frameMillis.add(delta * 1000.0f);
+            measured += delta;
+        }
+        return measured >= durationSeconds;
+    }
+
+    public int getFrameCount() {
+        return frameMillis.size;
+    }
+
+    public float getMeasuredSeconds() {
+        return measured;
+    }
+
+    /** The results as lines of text; {@code setup} describes the configuration and goes first. */
+    public String[] report(String setup) {
+        int count = frameMillis.size;
+        if (count == 0) {
+            return new String[] { setup, "No frames measured" };
+        }
+        float[] sorted = Arrays.copyOf(frameMillis.items, count);
+        Arrays.sort(sorted);
+
+        double averageMillis = measured * 1000.0 / count;
+        return new String[] {
+            setup,
+            String.format("%d frames in %.1f s: average %.1f fps (%.3f ms)",
+                count, measured, 1000.0 / averageMillis, averageMillis),
+            String.format("1%% low %.1f fps, 0.1%% low %.1f fps",
+                1000.0 / slowestAverage(sorted, 0.01), 1000.0 / slowestAverage(sorted, 0.001)),
+            String.format("frame time p50 %.3f, p90 %.3f, p99 %.3f, p99.9 %.3f, max %.3f ms",
+                percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[count - 1])
+        };
+    }
+
+    /** Average of the slowest {@code fraction} of frames, at least one frame. */
+    private static double slowestAverage(float[] sorted, double fraction) {
+        int n = Math.max(1, (int)(sorted.length * fraction));
+        double sum = 0.0;
+        for (int i = sorted.length - n; i < sorted.length; i++) {
+            sum += sorted[i];
+        }
+        return sum / n;
+    }
+
+    private static float percentile(float[] sorted, double percentile) {
+        int index = (int)Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -1,7 +1,5 @@
 package com.spacemonkey.game.Controller;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.math.Vector2;
 import com.spacemonkey.game.Model.Ship;
 
@@ -17,7 +15,9 @@ public class Controller {
     private Vector2 dashDirection;
     private Vector2 dashStartPosition;
     private Vector2 dashTargetPosition;
-    private float prevCooldownPercentage = 1.0f;
+    // Scratch vectors reused every tick so steering and dashing don't allocate.
+    private final Vector2 inputDirection = new Vector2();
+    private final Vector2 dashInput = new Vector2();
 
     // Ship reference
     private Ship ship;
@@ -58,10 +58,6 @@ public class Controller {
     }
 
 
-    public void setPrevCooldownPercentage(float value) {
-        this.prevCooldownPercentage = value;
-    }
-
     public Vector2 getDashStartPosition() {
         return dashStartPosition;
     }
@@ -75,13 +71,35 @@ public class Controller {
     }
 
 
+    public void reset() {
+        isDashing = false;
+        dashTimer = 0.0f;
+        dashCooldownTimer = 0.0f;
+        dashReady = true;
+        invulnerable = false;
+        invulnerabilityTimer = 0.0f;
+    }
+
+    /** Copies the dash and invulnerability state of {@code other}; the ship stays this controller's own. */
+    public void set(Controller other) {
+        isDashing = other.isDashing;
+        dashTimer = other.dashTimer;
+        dashCooldownTimer = other.dashCooldownTimer;
+        dashReady = other.dashReady;
+        dashDirection.set(other.dashDirection);
+        dashStartPosition.set(other.dashStartPosition);
+        dashTargetPosition.set(other.dashTargetPosition);
+        invulnerable = other.invulnerable;
+        invulnerabilityTimer = other.invulnerabilityTimer;
+    }
+
     public void setInvulnerable(boolean invulnerable, float duration) {
         this.invulnerable = invulnerable;
         this.invulnerabilityTimer = duration;
     }
 
 
-    public void updateDash(float delta) {
+    public void updateDash(InputCommand input, float delta) {
         if (isDashing) {
 
             dashTimer += delta;
@@ -94,27 +112,28 @@ public class Controller {
             } else {
 
                 float t = dashTimer / DASH_DURATION;
-                ship.setPosition(new Vector2(
+                ship.setPosition(
                     smootherLerp(dashStartPosition.x, dashTargetPosition.x, t),
                     smootherLerp(dashStartPosition.y, dashTargetPosition.y, t)
-                ));
+                );
 
 
                 if (t > 0.9f) {
-                    ship.setVelocity(new Vector2(dashDirection).scl(ship.getMaxSpeed() * 0.7f));
+                    float speed = ship.getMaxSpeed() * 0.7f;
+                    ship.setVelocity(dashDirection.x * speed, dashDirection.y * speed);
                 }
             }
         } else {
 
-            if (dashReady && Gdx.input.isKeyJustPressed(Keys.SPACE)) {
+            if (dashReady && input.dash) {
 
-                Vector2 dashDir = new Vector2(0, 0);
+                Vector2 dashDir = dashInput.setZero();
 
 
-                if (Gdx.input.isKeyPressed(Keys.W)) dashDir.y += 1.0f;
-                if (Gdx.input.isKeyPressed(Keys.S)) dashDir.y -= 1.0f;
-                if (Gdx.input.isKeyPressed(Keys.A)) dashDir.x -= 1.0f;
-                if (Gdx.input.isKeyPressed(Keys.D)) dashDir.x += 1.0f;
+                if (input.up) dashDir.y += 1.0f;
+                if (input.down) dashDir.y -= 1.0f;
+                if (input.left) dashDir.x -= 1.0f;
+                if (input.right) dashDir.x += 1.0f;
 
 
                 if (dashDir.len() < 0.1f && ship.getVelocity().len() > 0.1f) {
@@ -149,12 +168,12 @@ public class Controller {
 
 
             if (!isDashing) {
-                Vector2 inputDirection = new Vector2(0, 0);
+                inputDirection.setZero();
 
-                if (Gdx.input.isKeyPressed(Keys.W)) inputDirection.y += 1.0f;
-                if (Gdx.input.isKeyPressed(Keys.S)) inputDirection.y -= 1.0f;
-                if (Gdx.input.isKeyPressed(Keys.A)) inputDirection.x -= 1.0f;
-                if (Gdx.input.isKeyPressed(Keys.D)) inputDirection.x += 1.0f;
+                if (input.up) inputDirection.y += 1.0f;
+                if (input.down) inputDirection.y -= 1.0f;
+                if (input.left) inputDirection.x -= 1.0f;
+                if (input.right) inputDirection.x += 1.0f;
 
 
                 ship.updateMovement(inputDirection, delta);
@@ -0,0 +1,87 @@
+package com.spacemonkey.game.Controller;
+
+/**
+ * The player input consumed by one simulation tick. Held directions are levels; {@code dash},
+ * {@code menu} and {@code restart} are edges that stay latched until a tick consumes them.
+ */
+public class InputCommand {
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int DASH = 1 << 4;
+    public static final int MENU = 1 << 5;
+    public static final int RESTART = 1 << 6;
+
+    public boolean up;
+    public boolean down;
+    public boolean left;
+    public boolean right;
+    public boolean dash;
+    public boolean menu;
+    public boolean restart;
+
+    public void set(InputCommand other) {
+        up = other.up;
+        down = other.down;
+        left = other.left;
+        right = other.right;
+        dash = other.dash;
+        menu = other.menu;
+        restart = other.restart;
+    }
+
+    /** Packs the command into the bit mask stored in input recordings. */
+    public int toMask() {
+        int mask = 0;
+        if (up) mask |= UP;
+        if (down) mask |= DOWN;
+        if (left) mask |= LEFT;
+        if (right) mask |= RIGHT;
+        if (dash) mask |= DASH;
+        if (menu) mask |= MENU;
+        if (restart) mask |= RESTART;
+        return mask;
+    }
+
+    public void setMask(int mask) {
+        up = (mask & UP) != 0;
+        down = (mask & DOWN) != 0;
+        left = (mask & LEFT) != 0;
+        right = (mask & RIGHT) != 0;
+        dash = (mask & DASH) != 0;
+        menu = (mask & MENU) != 0;
+        restart = (mask & RESTART) != 0;
+    }
+
+    /**
+     * Folds in a newer command packed by {@link #toMask}: the held directions take its values,
+     * while its edges are added to any still latched here.
+     */
+    public void merge(int mask) {
+        up = (mask & UP) != 0;
+        down = (mask & DOWN) != 0;
+        left = (mask & LEFT) != 0;
+        right = (mask & RIGHT) != 0;
+        dash |= (mask & DASH) != 0;
+        menu |= (mask & MENU) != 0;
+        restart |= (mask & RESTART) != 0;
+    }
+
+    /** Drops the edges once a tick has consumed them, keeping the held directions. */
+    public void consumeEdges() {
+        dash = false;
+        menu = false;
+        restart = false;
+    }
+
+    public void clear() {
+        up = false;
+        down = false;
+        left = false;
+        right = false;
+        dash = false;
+        menu = false;
+        restart = false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.spacemonkey.game.Controller;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Records the {@link InputCommand} of every simulation tick together with the world seed, so a
+ * session can be replayed exactly by {@link InputReplay}. Ticks are run-length encoded: input
+ * changes a few times a second at most, while ticks run at 120 Hz.
+ * <p>
+ * File layout, big-endian: magic {@code "SMRP"}, version (short), seed (long), tick count (int),
+ * run count (int), then per run the input mask (byte) and the run length (varint).
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x534D5250;
+    static final short VERSION = 1;
+
+    private final long seed;
+    private final ByteArray masks = new ByteArray();
+    private final IntArray lengths = new IntArray();
+    private int tickCount = 0;
+
+    public InputRecorder(long seed) {
+        this.seed = seed;
+    }
+
+    /** Appends one tick. Call with the command exactly as the tick consumed it. */
+    public void record(InputCommand command) {
+        byte mask = (byte)command.toMask();
+        int last = masks.size - 1;
+        if (last >= 0 && masks.get(last) == mask) {
+            lengths.incr(last, 1);
+        } else {
+            masks.add(mask);
+            lengths.add(1);
+        }
+        tickCount++;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public void save(FileHandle file) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(seed);
+            out.writeInt(tickCount);
+            out.writeInt(masks.size);
+            for (int i = 0; i < masks.size; i++) {
+                out.writeByte(masks.get(i));
+                writeVarInt(out, lengths.get(i));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't write input recording: " + file, e);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
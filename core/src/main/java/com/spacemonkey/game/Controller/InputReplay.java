@@ -0,0 +1,111 @@
+package com.spacemonkey.game.Controller;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/** Plays back a file written by {@link InputRecorder}, one {@link InputCommand} per tick. */
+public class InputReplay {
+    private final long seed;
+    private final int tickCount;
+    private final byte[] masks;
+    private final int[] lengths;
+
+    private int run = 0;
+    private int tickInRun = 0;
+    private int tick = 0;
+
+    private InputReplay(long seed, int tickCount, byte[] masks, int[] lengths) {
+        this.seed = seed;
+        this.tickCount = tickCount;
+        this.masks = masks;
+        this.lengths = lengths;
+    }
+
+    public static InputReplay load(FileHandle file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new GdxRuntimeException("Not an input recording: " + file);
+            }
+            short version = in.readShort();
+            if (version != InputRecorder.VERSION) {
+                throw new GdxRuntimeException("Unsupported input recording version " + version + ": " + file);
+            }
+            long seed = in.readLong();
+            int tickCount = in.readInt();
+            int runCount = in.readInt();
+            if (runCount < 0) {
+                throw new GdxRuntimeException("Corrupt input recording, negative run count " + runCount + ": " + file);
+            }
+
+            byte[] masks = new byte[runCount];
+            int[] lengths = new int[runCount];
+            long total = 0;
+            for (int i = 0; i < runCount; i++) {
+                masks[i] = in.readByte();
+                lengths[i] = readVarInt(in);
+                // An empty run would never be stepped past, so the replay couldn't finish.
+                if (lengths[i] <= 0) {
+                    throw new GdxRuntimeException("Corrupt input recording, run " + i + " has length "
+                        + lengths[i] + ": " + file);
+                }
+                total += lengths[i];
+            }
+            if (total != tickCount) {
+                throw new GdxRuntimeException("Corrupt input recording, runs add up to " + total
+                    + " ticks instead of " + tickCount + ": " + file);
+            }
+            return new InputReplay(seed, tickCount, masks, lengths);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't read input recording: " + file, e);
+        }
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Run length is too long");
+    }
+
+    /**
+     * Fills {@code command} with the input of the next tick.
+     * @return false once the recording is exhausted, leaving {@code command} untouched
+     */
+    public boolean next(InputCommand command) {
+        if (run >= masks.length) {
+            return false;
+        }
+        command.setMask(masks[run]);
+        tick++;
+        if (++tickInRun == lengths[run]) {
+            run++;
+            tickInRun = 0;
+        }
+        return true;
+    }
+
+    public boolean isFinished() {
+        return run >= masks.length;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+}
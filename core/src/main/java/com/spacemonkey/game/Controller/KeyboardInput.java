@@ -0,0 +1,18 @@
+package com.spacemonkey.game.Controller;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+
+public class KeyboardInput {
+
+    /** Samples the keyboard once per frame. Key presses are OR-ed in so frames without a tick don't drop them. */
+    public void poll(InputCommand command) {
+        command.up = Gdx.input.isKeyPressed(Keys.W);
+        command.down = Gdx.input.isKeyPressed(Keys.S);
+        command.left = Gdx.input.isKeyPressed(Keys.A);
+        command.right = Gdx.input.isKeyPressed(Keys.D);
+        command.dash |= Gdx.input.isKeyJustPressed(Keys.SPACE);
+        command.menu |= Gdx.input.isKeyJustPressed(Keys.M);
+        command.restart |= Gdx.input.isKeyJustPressed(Keys.R);
+    }
+}
@@ -0,0 +1,26 @@
+package com.spacemonkey.game.Controller;
+
+/**
+ * A fixed input pattern for unattended runs: it weaves around the screen, dashes every couple of
+ * seconds and restarts as soon as a session ends. The pattern depends only on the tick number, so
+ * a seeded world driven by it plays the same session every time.
+ */
+public class ScriptedInput {
+    private int tick = 0;
+
+    /** Fills {@code input} for the next tick. */
+    public void next(InputCommand input) {
+        input.up = (tick / 180) % 2 == 0;
+        input.down = !input.up && (tick / 90) % 3 == 0;
+        input.right = (tick / 240) % 2 == 0;
+        input.left = !input.right && (tick / 400) % 2 == 0;
+        input.dash = tick % 200 == 0;
+        input.menu = false;
+        input.restart = true;
+        tick++;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,74 @@
+package com.spacemonkey.game;
+
+import java.util.Arrays;
+
+/** A ring buffer of the most recent frame times with percentiles over the window, without allocating. */
+public class FrameTimeHistory {
+    private final float[] samples;
+    private final float[] sorted;
+    private int next = 0;
+    private int count = 0;
+    private boolean sortedValid = false;
+
+    public FrameTimeHistory(int capacity) {
+        samples = new float[capacity];
+        sorted = new float[capacity];
+    }
+
+    public void add(float millis) {
+        samples[next] = millis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        sortedValid = false;
+    }
+
+    /** @param age 0 for the newest sample, {@code size() - 1} for the oldest */
+    public float get(int age) {
+        int index = next - 1 - age;
+        if (index < 0) {
+            index += samples.length;
+        }
+        return samples[index];
+    }
+
+    /** @param percentile in [0, 1]; 0.99 gives the time that 99% of frames in the window beat */
+    public float percentile(float percentile) {
+        if (count == 0) {
+            return 0.0f;
+        }
+        if (!sortedValid) {
+            System.arraycopy(samples, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            sortedValid = true;
+        }
+        int index = (int)Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    public float average() {
+        if (count == 0) {
+            return 0.0f;
+        }
+        float sum = 0.0f;
+        for (int i = 0; i < count; i++) {
+            sum += samples[i];
+        }
+        return sum / count;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return samples.length;
+    }
+
+    public void clear() {
+        next = 0;
+        count = 0;
+        sortedValid = false;
+    }
+}
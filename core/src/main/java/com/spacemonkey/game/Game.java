@@ -2,106 +2,223 @@ package com.spacemonkey.game;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.spacemonkey.game.Model.*;
+import com.spacemonkey.game.Model.SpawnTables;
 import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.Controller.InputRecorder;
+import com.spacemonkey.game.Controller.InputReplay;
+import com.spacemonkey.game.Controller.KeyboardInput;
+import com.spacemonkey.game.Controller.ScriptedInput;
 import com.spacemonkey.game.View.GameRenderer;
+import com.spacemonkey.game.View.HudRenderer;
+import com.spacemonkey.game.View.LoadingScreen;
+import com.spacemonkey.game.View.ParticleEffects;
+import com.spacemonkey.game.View.PerfOverlay;
+import com.spacemonkey.game.View.RetainedLayer;
+import com.spacemonkey.game.View.TextureRegistry;
+import com.spacemonkey.game.View.WorldRenderer;
+
+import java.util.concurrent.ForkJoinPool;
 
 public class Game {
-    public static final float WORLD_WIDTH = 1280;
-    public static final float WORLD_HEIGHT = 720;
+    public static final float WORLD_WIDTH = World.WORLD_WIDTH;
+    public static final float WORLD_HEIGHT = World.WORLD_HEIGHT;
+
+    private static final String BG_TEXTURE = "textures/bg.png";
 
+    private TextureRegistry textures;
     private Texture bgTexture;
 
     private SpriteBatch batch;
-    private ShapeRenderer shapeRenderer;
     private OrthographicCamera camera;
     private Viewport viewport;
 
-    private Texture defeatedTexture;
-    private Texture victoryTexture;
-    private Texture startTexture;
-    private Texture exitTexture;
-    private Texture spaceMonkeyBanerTexture;
+    private TextureRegion defeatedTexture;
+    private TextureRegion victoryTexture;
+    private TextureRegion startTexture;
+    private TextureRegion exitTexture;
+    private TextureRegion spaceMonkeyBanerTexture;
 
     private GameRenderer renderer;
+    private HudRenderer hud;
+    private RetainedLayer menuLayer;
+    private RetainedLayer controlsLayer;
+    private SectionTimer sectionTimer;
+    private PerfOverlay perfOverlay;
+    private WorldRenderer worldRenderer;
+    private ParticleEffects particles;
+    private LoadingScreen loadingScreen;
+    private boolean loaded = false;
+    private long createStart;
 
     private boolean running = false;
-    private boolean gameOver = false;
     private boolean firstLaunch = true;
 
-    private double timePass = 0.0;
-
-    private Ship ship;
-    private Controller controller;
+    private World world;
+    private KeyboardInput keyboard;
+    private InputCommand input;
+    private final LaunchOptions options;
+    private InputRecorder recorder;
+    private InputReplay replay;
+    private ScriptedInput script;
+    private BenchmarkRun benchmark;
+    private final Metrics metrics;
+    private ForkJoinPool simulationPool;
+    private SimulationThread simulation;
+    private WorldEventQueue events;
+    private WorldSnapshot snapshot;
+    private long frameStart = 0;
+    private long updateNanos;
+
+    private static final float SIMULATION_STEP = 1.0f / 120.0f;
+    private static final float MAX_FRAME_TIME = 0.25f;
+    private static final float BENCHMARK_WARMUP = 2.0f;
+    // GL-thread loading budget per frame, leaving room for the loading screen at 60 fps.
+    private static final int LOAD_SLICE_MILLIS = 10;
+    private static final int PARTICLE_CAPACITY = 32768;
+    private static final int EVENT_CAPACITY = 256;
+    // What a tick tells the loop driving it.
+    private static final int TICK_CONTINUE = 0;
+    private static final int TICK_MENU = 1;
+    private static final int TICK_REPLAY_FINISHED = 2;
+    private float accumulator = 0.0f;
 
     private float pulseTimer = 0.0f;
     private float prevCooldownPercentage = 1.0f;
 
-    private AsteroidFactory asteroidFactory;
-    private static final int MAX_ASTEROIDS = 60;
-    private static final float ASTEROID_SPAWN_TIMER_MAX = 1.0f;
-    private float asteroidSpawnTimer = 0.0f;
-    private Array<Asteroid> asteroids;
-
-    private FruitFactory fruitFactory;
-    private static final int WIN_FRUIT_NUMBER = 30;
-    private static final int MAX_FRUIT = 6;
-    private static final float FRUIT_SPAWN_TIMER_MAX = 1.0f;
-    private float fruitSpawnTimer = 0.0f;
-    private Array<Fruit> fruitPool;
-    private int activeFruitCount = 0;
-    private int collectedFruit = 0;
-
     private float ui_sizeWidth = 300;
     private float ui_sizeHeight = 150;
     private Vector2 startPos;
     private Vector2 exitPos;
-    private com.badlogic.gdx.graphics.g2d.BitmapFont font;
+    private final Vector2 mousePosition = new Vector2();
+    private final StringBuilder scoreText = new StringBuilder();
 
     private static final float KEY_DISPLAY_ALPHA = 0.8f;
     private static final float KEY_ICON_SIZE = 25.0f;
-
-    public Game() {
-        this.asteroids = new Array<>(MAX_ASTEROIDS);
-        this.fruitPool = new Array<>(MAX_FRUIT + 5);
+    private static final float CONTROLS_X = 1060.0f;
+    private static final float CONTROLS_TOP = 260.0f;
+    private static final float CONTROLS_WIDTH = 200.0f;
+    private static final float CONTROLS_HEIGHT = 240.0f;
+
+    private static final Color SCORE_LIGHT = new Color(0.5f, 0.5f, 0.8f, 1.0f);
+    private static final Color SCORE_DARK = new Color(0.3f, 0.3f, 0.6f, 1.0f);
+    private static final Color KEY_PANEL_TOP = new Color(0.2f, 0.2f, 0.3f, KEY_DISPLAY_ALPHA);
+    private static final Color KEY_PANEL_BOTTOM = new Color(0.1f, 0.1f, 0.15f, KEY_DISPLAY_ALPHA);
+    private static final Color KEY_CAP_LIGHT = new Color(0.8f, 0.8f, 0.9f, KEY_DISPLAY_ALPHA);
+    private static final Color KEY_CAP_DARK = new Color(0.6f, 0.6f, 0.7f, KEY_DISPLAY_ALPHA);
+
+    public Game(LaunchOptions options, Metrics metrics) {
+        this.options = options;
+        this.metrics = metrics;
+        long seed;
+        if (options.getReplayFile() != null) {
+            replay = InputReplay.load(new FileHandle(options.getReplayFile()));
+            seed = replay.getSeed();
+            // A replay starts straight in the game; the menu isn't part of the recording.
+            running = true;
+        } else {
+            seed = options.getSeed();
+        }
+        if (options.getRecordFile() != null) {
+            recorder = new InputRecorder(seed);
+        }
+        SpawnTables spawnTables = SpawnTables.load(Gdx.files.internal(SpawnTables.DEFAULT_FILE));
+        if (options.isBenchmark()) {
+            int asteroids = options.getBenchmarkAsteroids();
+            this.world = new World(asteroids, spawnTables, seed);
+            world.setAsteroidFloor(asteroids);
+            script = new ScriptedInput();
+            benchmark = new BenchmarkRun(BENCHMARK_WARMUP, options.getBenchmarkDuration());
+            running = true;
+        } else {
+            this.world = new World(spawnTables, seed);
+        }
+        if (options.getThreads() > 1) {
+            simulationPool = new ForkJoinPool(options.getThreads());
+            world.setParallelism(simulationPool);
+        }
         this.startPos = new Vector2(WORLD_WIDTH / 2 - ui_sizeHeight, WORLD_HEIGHT / 2 - 130);
         this.exitPos = new Vector2(WORLD_WIDTH / 2 - ui_sizeHeight, WORLD_HEIGHT / 2 - 300);
     }
 
     public void create() {
+        createStart = System.nanoTime();
         batch = new SpriteBatch();
-        shapeRenderer = new ShapeRenderer();
         camera = new OrthographicCamera();
         viewport = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);
         viewport.apply();
         camera.position.set(WORLD_WIDTH / 2, WORLD_HEIGHT / 2, 0);
 
-        defeatedTexture = new Texture(Gdx.files.internal("textures/defeated.png"));
-        victoryTexture = new Texture(Gdx.files.internal("textures/victory.png"));
-        startTexture = new Texture(Gdx.files.internal("textures/start.png"));
-        exitTexture = new Texture(Gdx.files.internal("textures/exit.png"));
-        spaceMonkeyBanerTexture = new Texture(Gdx.files.internal("textures/ui_baner2.png"));
-        bgTexture = new Texture(Gdx.files.internal("textures/bg.png"));
+        // Everything the menu and the game draw is queued here and decoded in the background;
+        // render() shows a progress bar until it is all on the GPU.
+        textures = new TextureRegistry(!options.isPngTextures());
+        textures.preload(TextureRegistry.GAME_ATLAS, TextureAtlas.class);
+        textures.preload(BG_TEXTURE, Texture.class);
+        textures.preloadFont(HudRenderer.FONT_FILE, TextureRegistry.GAME_ATLAS);
+        loadingScreen = new LoadingScreen(WORLD_WIDTH, WORLD_HEIGHT);
 
-        font = new com.badlogic.gdx.graphics.g2d.BitmapFont();
-        font.getData().setScale(1.5f);
+        keyboard = new KeyboardInput();
+        input = new InputCommand();
+    }
 
-        ship = new Ship();
-        controller = new Controller(ship);
+    /** Runs once every queued asset is loaded, so none of this blocks on a file. */
+    private void finishLoading() {
+        Gdx.app.log("Startup", String.format("Textures resident %.1f ms after create, loaded from %s",
+            (System.nanoTime() - createStart) / 1_000_000.0,
+            textures.isCached(TextureRegistry.GAME_ATLAS) ? "the raw texture cache" : "PNG"));
+
+        TextureAtlas atlas = textures.acquireAtlas(TextureRegistry.GAME_ATLAS);
+        defeatedTexture = TextureRegistry.findRegion(atlas, "defeated");
+        victoryTexture = TextureRegistry.findRegion(atlas, "victory");
+        startTexture = TextureRegistry.findRegion(atlas, "start");
+        exitTexture = TextureRegistry.findRegion(atlas, "exit");
+        spaceMonkeyBanerTexture = TextureRegistry.findRegion(atlas, "ui_baner2");
+        bgTexture = textures.acquire(BG_TEXTURE);
+
+        hud = new HudRenderer(batch, textures);
+        menuLayer = new RetainedLayer(0.0f, 0.0f, WORLD_WIDTH, WORLD_HEIGHT, this::paintMenuBackground);
+        controlsLayer = new RetainedLayer(
+            CONTROLS_X, CONTROLS_TOP - CONTROLS_HEIGHT + KEY_ICON_SIZE,
+            CONTROLS_WIDTH, CONTROLS_HEIGHT,
+            this::paintKeyInstructions);
+        particles = new ParticleEffects(PARTICLE_CAPACITY);
+        updateLayerResolution();
+
+        sectionTimer = new SectionTimer();
+        if (options.isSimulationThread()) {
+            // The overlay's update sections stay empty: the ticks happen outside the frame.
+            events = new WorldEventQueue(EVENT_CAPACITY);
+            world.setListener(events);
+        } else {
+            world.setListener(particles);
+            world.setSectionTimer(sectionTimer);
+        }
+        perfOverlay = new PerfOverlay(hud, sectionTimer, particles.getParticles());
+
+        loadingScreen.dispose();
+        loadingScreen = null;
+        loaded = true;
 
         init();
+
+        // From here on, only the simulation thread touches the world until dispose() stops it.
+        if (options.isSimulationThread()) {
+            simulation = new SimulationThread(world, world.getAsteroids().capacity(), SIMULATION_STEP, this::simulate);
+            simulation.start(running);
+        }
     }
 
     public boolean init() {
@@ -109,55 +226,101 @@ public class Game {
             pulseTimer = 0.0f;
             firstLaunch = false;
             renderer = new GameRenderer(batch);
-            asteroidFactory = new AsteroidFactory();
-            fruitFactory = new FruitFactory();
+            worldRenderer = new WorldRenderer(renderer, textures, world.getAsteroids().capacity());
         }
 
-        ship.reset();
-        gameOver = false;
-        collectedFruit = 0;
-        activeFruitCount = 0;
-        asteroids.clear();
+        world.reset();
 
         return true;
     }
 
     public void render(float delta) {
+        if (!loaded) {
+            Gdx.gl.glClearColor(0.1f, 0.1f, 0.2f, 1);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            if (!textures.update(LOAD_SLICE_MILLIS)) {
+                camera.update();
+                batch.setProjectionMatrix(camera.combined);
+                loadingScreen.draw(batch, textures.getProgress());
+                return;
+            }
+            finishLoading();
+        }
+
+        long now = System.nanoTime();
+        long frameNanos = frameStart == 0 ? 0 : now - frameStart;
+        frameStart = now;
+        updateNanos = 0;
+        // With a simulation thread, everything this frame reads comes from the one snapshot taken here.
+        WorldView view = world;
+        if (simulation != null) {
+            snapshot = simulation.latest();
+            view = snapshot;
+        }
+
+        perfOverlay.beginFrame();
+        if (Gdx.input.isKeyJustPressed(Keys.F3)) {
+            perfOverlay.toggle();
+        }
+
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.2f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        // Repaint any cached layer that was invalidated; the framebuffer pass resets the GL viewport.
+        boolean repainted = menuLayer.update(batch);
+        repainted |= controlsLayer.update(batch);
+        if (repainted) {
+            viewport.apply();
+        }
+
         camera.update();
         batch.setProjectionMatrix(camera.combined);
-        shapeRenderer.setProjectionMatrix(camera.combined);
 
         if (!running) {
             renderMenu(delta);
         } else {
-            runGame(delta);
+            runGame(delta, view);
+        }
+
+        perfOverlay.endFrame(delta);
+        if (perfOverlay.isVisible()) {
+            batch.begin();
+            perfOverlay.draw(view, renderer);
+            batch.end();
+        }
+
+        // A simulation thread's ticks overlap the frame instead of taking part of it.
+        long renderNanos = System.nanoTime() - frameStart - (simulation == null ? updateNanos : 0);
+        metrics.frame(frameNanos, updateNanos, renderNanos, view);
+
+        if (benchmark != null && benchmark.frame(delta)) {
+            finishBenchmark();
+        }
+        if (options.isExitAfterFirstFrame()) {
+            Gdx.app.exit();
         }
     }
 
-    private void renderMenu(float delta) {
-        batch.begin();
-        batch.end();
+    private void paintMenuBackground(SpriteBatch batch) {
+        hud.circle(0.0f, 0.0f, 700.0f, 20, 118.0f/255.0f, 66.0f/255.0f, 138.0f/255.0f, 1);
+        hud.circle(WORLD_WIDTH, WORLD_HEIGHT / 2, 400.0f, 20, 203.0f/255.0f, 211.0f/255.0f, 252.0f/255.0f, 1);
+        hud.circle(WORLD_WIDTH / 2, 0.0f, 400.0f, 20, 1, 1, 1, 1);
 
-        shapeRenderer.begin(ShapeType.Filled);
-        shapeRenderer.setColor(new Color(118.0f/255.0f, 66.0f/255.0f, 138.0f/255.0f, 1));
-        shapeRenderer.circle(0.0f, 0.0f, 700.0f, 20);
-        shapeRenderer.setColor(new Color(203.0f/255.0f, 211.0f/255.0f, 252.0f/255.0f, 1));
-        shapeRenderer.circle(WORLD_WIDTH, WORLD_HEIGHT / 2, 400.0f, 20);
-        shapeRenderer.setColor(Color.WHITE);
-        shapeRenderer.circle(WORLD_WIDTH / 2, 0.0f, 400.0f, 20);
-        shapeRenderer.end();
+        batch.draw(spaceMonkeyBanerTexture, WORLD_WIDTH / 2 - 300.0f, WORLD_HEIGHT - 305.0f, 600.0f, 300.0f);
+    }
 
+    private void renderMenu(float delta) {
         batch.begin();
-        batch.draw(spaceMonkeyBanerTexture, WORLD_WIDTH / 2 - 300.0f, WORLD_HEIGHT - 305.0f, 600.0f, 300.0f);
+        menuLayer.draw(batch);
 
         float startScale = 1.0f;
         if (checkMouseCollision(startPos, ui_sizeWidth, ui_sizeHeight)) {
             startScale = 1.05f;
             if (Gdx.input.justTouched()) {
                 running = true;
+                if (simulation != null) {
+                    simulation.resume();
+                }
             }
         }
         batch.draw(startTexture, startPos.x, startPos.y, ui_sizeWidth * startScale, ui_sizeHeight * startScale);
@@ -174,172 +337,210 @@ public class Game {
         batch.end();
     }
 
-    private void runGame(float delta) {
-        Gdx.input.setCursorCatched(true);
-        timePass += delta;
 
-
-        if (Gdx.input.isKeyJustPressed(Keys.M)) {
-            running = false;
-            clear();
-            init();
-            Gdx.input.setCursorCatched(false);
-            return;
-        }
+    private void runGame(float delta, WorldView view) {
+        Gdx.input.setCursorCatched(true);
 
         if(Gdx.input.isKeyJustPressed(Keys.ESCAPE)) {
             Gdx.app.exit();
         }
 
-        batch.begin();
-        renderer.render(bgTexture, 0.0f, 0.0f, WORLD_WIDTH, WORLD_HEIGHT);
-        if (gameOver) {
-            float messageWidth = 400;
-            float messageHeight = 200;
-            float centerX = WORLD_WIDTH / 2;
-            float centerY = WORLD_HEIGHT / 2;
-
-            batch.draw(defeatedTexture,
-                centerX - messageWidth / 2,
-                centerY - messageHeight / 2,
-                messageWidth, messageHeight);
-
-            drawEndScreenInstructions(centerX, centerY, messageWidth);
-
-            if (Gdx.input.isKeyJustPressed(Keys.R)) {
-                clear();
-                init();
+        if (replay == null && script == null) {
+            keyboard.poll(input);
+        }
+
+        float alpha;
+        if (simulation == null) {
+            // Clamp long hitches so the simulation can't fall into a catch-up spiral.
+            accumulator += Math.min(delta, MAX_FRAME_TIME);
+            long updateStart = System.nanoTime();
+            while (accumulator >= SIMULATION_STEP) {
+                accumulator -= SIMULATION_STEP;
+                int result = simulate(input);
+                if (result != TICK_CONTINUE) {
+                    updateNanos = System.nanoTime() - updateStart;
+                    endSession(result);
+                    return;
+                }
+            }
+            updateNanos = System.nanoTime() - updateStart;
+            alpha = accumulator / SIMULATION_STEP;
+        } else {
+            // Edges stay latched here until the queue takes them, so a full queue delays them instead of losing them.
+            if (replay == null && script == null && simulation.offerInput(input)) {
+                input.consumeEdges();
             }
+            events.drainTo(particles);
+            if (!simulation.isActive()) {
+                endSession(simulation.getPauseReason());
+                return;
+            }
+            updateNanos = simulation.getTickNanos();
+            alpha = snapshot.alpha(System.nanoTime(), simulation.getStepNanos());
+        }
 
-            batch.end();
-            return;
+        sectionTimer.begin(SectionTimer.PARTICLES);
+        particles.update(delta, view);
+        sectionTimer.end(SectionTimer.PARTICLES);
+
+        pulseTimer += delta;
+        if (pulseTimer > MathUtils.PI2) {
+            pulseTimer = 0.0f;
         }
 
-        if (collectedFruit >= WIN_FRUIT_NUMBER) {
-            float messageWidth = 400;
-            float messageHeight = 200;
-            float centerX = WORLD_WIDTH / 2;
-            float centerY = WORLD_HEIGHT / 2;
+        drawGame(view, alpha);
+    }
 
-            batch.draw(victoryTexture,
-                centerX - messageWidth / 2,
-                centerY - messageHeight / 2,
-                messageWidth, messageHeight);
+    /**
+     * One fixed tick from whichever source drives the session. M and R are handled inside the tick
+     * so that a recording replays them on the same tick. With {@code --sim-thread} this runs on the
+     * simulation thread, which owns the world, the replay, the script and the recorder.
+     */
+    private int simulate(InputCommand input) {
+        if (replay != null && !replay.next(input)) {
+            return TICK_REPLAY_FINISHED;
+        }
+        if (script != null) {
+            script.next(input);
+        }
+        if (recorder != null) {
+            recorder.record(input);
+        }
 
-            drawEndScreenInstructions(centerX, centerY, messageWidth);
+        world.tick(input, SIMULATION_STEP);
+        if (input.menu && replay == null) {
+            return TICK_MENU;
+        }
+        input.consumeEdges();
+        return TICK_CONTINUE;
+    }
+
+    private void endSession(int result) {
+        if (result == TICK_REPLAY_FINISHED) {
+            finishReplay();
+            return;
+        }
+        running = false;
+        clear();
+        Gdx.input.setCursorCatched(false);
+    }
 
-            if (Gdx.input.isKeyJustPressed(Keys.R)) {
-                clear();
-                init();
-            }
 
+    private void drawGame(WorldView view, float alpha) {
+        renderer.setView(camera);
+        batch.begin();
+        renderer.render(bgTexture, 0.0f, 0.0f, WORLD_WIDTH, WORLD_HEIGHT);
+        if (view.isGameOver()) {
+            drawEndScreen(defeatedTexture);
             batch.end();
             return;
         }
 
-        pulseTimer += delta;
-        if (pulseTimer > MathUtils.PI2) {
-            pulseTimer = 0.0f;
+        if (view.isWon()) {
+            drawEndScreen(victoryTexture);
+            batch.end();
+            return;
         }
 
-        drawKeyInstructions();
-        controller.updateDash(delta);
-        updateAsteroids(delta);
-        updateFruits(delta);
-        drawDashEffect();
-
-        if (!controller.isInvulnerable() || (int)(controller.getInvulnerabilityTimer() * 10.0f) % 2 == 0) {
-            ship.drawShip(batch);
+        // Sprites, shapes and text all come from the game atlas, so after the background
+        // and the cached controls panel this is a single flush.
+        sectionTimer.begin(SectionTimer.DRAW_HUD);
+        controlsLayer.draw(batch);
+        sectionTimer.end(SectionTimer.DRAW_HUD);
+
+        sectionTimer.begin(SectionTimer.DRAW_WORLD);
+        worldRenderer.drawAsteroids(view.getAsteroids(), alpha);
+        worldRenderer.drawFruits(view.getFruits());
+        sectionTimer.end(SectionTimer.DRAW_WORLD);
+
+        // Particles are one point draw of their own between the world and the ship, which costs
+        // a batch flush, so only while any are alive.
+        if (!particles.isEmpty()) {
+            sectionTimer.begin(SectionTimer.PARTICLES);
+            batch.end();
+            particles.draw(camera.combined);
+            batch.begin();
+            sectionTimer.end(SectionTimer.PARTICLES);
         }
 
-        ship.drawHealthBar(batch, shapeRenderer);
-        drawScoreCounter();
-        drawDashCooldown();
+        sectionTimer.begin(SectionTimer.DRAW_SHIP);
+        worldRenderer.drawShip(view.getShip(), view.getController(), alpha);
+        sectionTimer.end(SectionTimer.DRAW_SHIP);
+
+        sectionTimer.begin(SectionTimer.DRAW_HUD);
+        worldRenderer.drawHealthBar(hud, view.getShip());
+        drawScoreCounter(view.getCollectedFruit());
+        drawDashCooldown(view.getController());
+        sectionTimer.end(SectionTimer.DRAW_HUD);
 
         batch.end();
     }
 
-    private void drawScoreCounter() {
+    private void drawEndScreen(TextureRegion message) {
+        float messageWidth = 400;
+        float messageHeight = 200;
+        float centerX = WORLD_WIDTH / 2;
+        float centerY = WORLD_HEIGHT / 2;
+
+        batch.draw(message,
+            centerX - messageWidth / 2,
+            centerY - messageHeight / 2,
+            messageWidth, messageHeight);
+
+        drawEndScreenInstructions(centerX, centerY, messageWidth);
+    }
+
+    private void drawScoreCounter(int collectedFruit) {
         float scoreWidth = 150.0f;
         float scoreHeight = 40.0f;
         float scoreX = WORLD_WIDTH / 2 - scoreWidth / 2;
         float scoreY = WORLD_HEIGHT - scoreHeight - 10.0f;
 
-        batch.end();
-
-        shapeRenderer.begin(ShapeType.Filled);
-        shapeRenderer.setColor(0.0f, 0.0f, 0.0f, 0.7f);
-        shapeRenderer.rect(scoreX + 3, scoreY - 3, scoreWidth, scoreHeight);
-
-        shapeRenderer.setColor(0.2f, 0.2f, 0.4f, 0.9f);
-        shapeRenderer.rect(scoreX, scoreY, scoreWidth, scoreHeight);
+        hud.rect(scoreX + 3, scoreY - 3, scoreWidth, scoreHeight, 0.0f, 0.0f, 0.0f, 0.7f);
+        hud.rect(scoreX, scoreY, scoreWidth, scoreHeight, 0.2f, 0.2f, 0.4f, 0.9f);
+        hud.gradientRect(scoreX + 2, scoreY + 2, scoreWidth - 4, scoreHeight - 4,
+            SCORE_LIGHT, SCORE_DARK, SCORE_DARK, SCORE_LIGHT);
 
-        shapeRenderer.setColor(0.5f, 0.5f, 0.8f, 1.0f);
-        shapeRenderer.rect(scoreX + 2, scoreY + 2, scoreWidth - 4, scoreHeight - 4,
-            new Color(0.5f, 0.5f, 0.8f, 1.0f),
-            new Color(0.3f, 0.3f, 0.6f, 1.0f),
-            new Color(0.3f, 0.3f, 0.6f, 1.0f),
-            new Color(0.5f, 0.5f, 0.8f, 1.0f));
+        hud.rect(scoreX + 10, scoreY + 30, scoreWidth - 20, 4, 0.1f, 0.1f, 0.1f, 0.7f);
 
-        shapeRenderer.setColor(0.1f, 0.1f, 0.1f, 0.7f);
-        shapeRenderer.rect(scoreX + 10, scoreY + 30, scoreWidth - 20, 4);
+        float progressWidth = (scoreWidth - 20) * ((float)collectedFruit / World.WIN_FRUIT_NUMBER);
+        hud.rect(scoreX + 10, scoreY + 30, progressWidth, 4, 0.2f, 0.9f, 0.3f, 1.0f);
 
-        float progressWidth = (scoreWidth - 20) * ((float)collectedFruit / WIN_FRUIT_NUMBER);
-        shapeRenderer.setColor(0.2f, 0.9f, 0.3f, 1.0f);
-        shapeRenderer.rect(scoreX + 10, scoreY + 30, progressWidth, 4);
-
-        shapeRenderer.end();
-
-        batch.begin();
-
-        String scoreText = "FRUITS: " + collectedFruit + "/" + WIN_FRUIT_NUMBER;
-        font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
-
-        com.badlogic.gdx.graphics.g2d.GlyphLayout layout = new com.badlogic.gdx.graphics.g2d.GlyphLayout(font, scoreText);
-        font.draw(batch, scoreText,
+        scoreText.setLength(0);
+        scoreText.append("FRUITS: ").append(collectedFruit).append('/').append(World.WIN_FRUIT_NUMBER);
+        GlyphLayout layout = hud.layout(scoreText);
+        hud.text(scoreText,
             scoreX + (scoreWidth/2) - (layout.width/2),
-            scoreY + (scoreHeight/2) + (layout.height/2));
+            scoreY + (scoreHeight/2) + (layout.height/2),
+            1.0f, 1.0f, 1.0f, 1.0f);
     }
 
-    private void drawKeyInstructions() {
-        float startY = 260.0f;
-        float leftX = 1060.0f;
-
-        batch.end();
-        shapeRenderer.begin(ShapeType.Filled);
-        shapeRenderer.setColor(0.1f, 0.1f, 0.2f, KEY_DISPLAY_ALPHA);
+    private void paintKeyInstructions(SpriteBatch batch) {
+        float startY = CONTROLS_TOP;
+        float leftX = CONTROLS_X;
 
-        float boxWidth = 200.0f;
-        float boxHeight = 240.0f;
+        float boxWidth = CONTROLS_WIDTH;
+        float boxHeight = CONTROLS_HEIGHT;
 
-        shapeRenderer.rect(
+        hud.gradientRect(
             leftX, startY - boxHeight + KEY_ICON_SIZE,
             boxWidth, boxHeight,
-            new Color(0.2f, 0.2f, 0.3f, KEY_DISPLAY_ALPHA),
-            new Color(0.2f, 0.2f, 0.3f, KEY_DISPLAY_ALPHA),
-            new Color(0.1f, 0.1f, 0.15f, KEY_DISPLAY_ALPHA),
-            new Color(0.1f, 0.1f, 0.15f, KEY_DISPLAY_ALPHA)
+            KEY_PANEL_TOP, KEY_PANEL_TOP, KEY_PANEL_BOTTOM, KEY_PANEL_BOTTOM
         );
 
-        shapeRenderer.setColor(0.4f, 0.4f, 0.6f, KEY_DISPLAY_ALPHA);
-        shapeRenderer.rect(leftX, startY - boxHeight + KEY_ICON_SIZE, boxWidth, 2);
-        shapeRenderer.rect(leftX, startY - boxHeight + KEY_ICON_SIZE, 2, boxHeight);
-        shapeRenderer.rect(leftX + boxWidth - 2, startY - boxHeight + KEY_ICON_SIZE, 2, boxHeight);
-        shapeRenderer.rect(leftX, startY - boxHeight + KEY_ICON_SIZE + boxHeight - 2, boxWidth, 2);
-
-        shapeRenderer.setColor(0.3f, 0.3f, 0.5f, KEY_DISPLAY_ALPHA);
-        shapeRenderer.rect(leftX, startY - boxHeight + KEY_ICON_SIZE + boxHeight - 30, boxWidth, 30);
-
-        shapeRenderer.end();
+        hud.rect(leftX, startY - boxHeight + KEY_ICON_SIZE, boxWidth, 2, 0.4f, 0.4f, 0.6f, KEY_DISPLAY_ALPHA);
+        hud.rect(leftX, startY - boxHeight + KEY_ICON_SIZE, 2, boxHeight, 0.4f, 0.4f, 0.6f, KEY_DISPLAY_ALPHA);
+        hud.rect(leftX + boxWidth - 2, startY - boxHeight + KEY_ICON_SIZE, 2, boxHeight, 0.4f, 0.4f, 0.6f, KEY_DISPLAY_ALPHA);
+        hud.rect(leftX, startY - boxHeight + KEY_ICON_SIZE + boxHeight - 2, boxWidth, 2, 0.4f, 0.4f, 0.6f, KEY_DISPLAY_ALPHA);
 
-        batch.begin();
+        hud.rect(leftX, startY - boxHeight + KEY_ICON_SIZE + boxHeight - 30, boxWidth, 30, 0.3f, 0.3f, 0.5f, KEY_DISPLAY_ALPHA);
 
-        font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
         String titleText = "CONTROLS";
-        com.badlogic.gdx.graphics.g2d.GlyphLayout titleLayout = new com.badlogic.gdx.graphics.g2d.GlyphLayout(font, titleText);
-        font.draw(batch, titleText,
+        GlyphLayout titleLayout = hud.layout(titleText);
+        hud.text(titleText,
             leftX + (boxWidth / 2) - (titleLayout.width / 2),
-            startY - boxHeight + KEY_ICON_SIZE + boxHeight - 10);
+            startY - boxHeight + KEY_ICON_SIZE + boxHeight - 10,
+            1.0f, 1.0f, 1.0f, 1.0f);
 
         float offsetKey = 30;
         float currentY = startY - offsetKey;
@@ -358,272 +559,152 @@ public class Game {
     }
 
     private void drawKeyInstruction(float x, float y, String key, String action) {
-        batch.end();
-
-        shapeRenderer.begin(ShapeType.Filled);
-        shapeRenderer.setColor(0.7f, 0.7f, 0.8f, KEY_DISPLAY_ALPHA);
         float keyWidth = key.length() > 1 ? KEY_ICON_SIZE * 4.0f : KEY_ICON_SIZE;
-        shapeRenderer.rect(x, y - KEY_ICON_SIZE + 5, keyWidth, KEY_ICON_SIZE,
-            new Color(0.8f, 0.8f, 0.9f, KEY_DISPLAY_ALPHA),
-            new Color(0.8f, 0.8f, 0.9f, KEY_DISPLAY_ALPHA),
-            new Color(0.6f, 0.6f, 0.7f, KEY_DISPLAY_ALPHA),
-            new Color(0.6f, 0.6f, 0.7f, KEY_DISPLAY_ALPHA));
+        hud.gradientRect(x, y - KEY_ICON_SIZE + 5, keyWidth, KEY_ICON_SIZE,
+            KEY_CAP_LIGHT, KEY_CAP_LIGHT, KEY_CAP_DARK, KEY_CAP_DARK);
 
-        shapeRenderer.end();
-
-        batch.begin();
-
-        font.setColor(0.1f, 0.1f, 0.2f, 1.0f);
-        com.badlogic.gdx.graphics.g2d.GlyphLayout keyLayout = new com.badlogic.gdx.graphics.g2d.GlyphLayout(font, key);
-        font.draw(batch, key,
+        GlyphLayout keyLayout = hud.layout(key);
+        float keyHeight = keyLayout.height;
+        hud.text(key,
             x + (keyWidth / 2) - (keyLayout.width / 2),
-            y - (KEY_ICON_SIZE / 2) + (keyLayout.height -4));
+            y - (KEY_ICON_SIZE / 2) + (keyHeight -4),
+            0.1f, 0.1f, 0.2f, 1.0f);
 
-        font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
-        font.draw(batch, action, x + keyWidth + 10, y - (KEY_ICON_SIZE / 2) + (keyLayout.height / 2));
+        hud.text(action, x + keyWidth + 10, y - (KEY_ICON_SIZE / 2) + (keyHeight / 2), 1.0f, 1.0f, 1.0f, 1.0f);
     }
 
     private void drawEndScreenInstructions(float centerX, float centerY, float width) {
         float instructionY = centerY - 130.0f;
 
-        font.setColor(1.0f, 0.1f, 0.2f, 1.0f);
         String keyText = "R";
-        com.badlogic.gdx.graphics.g2d.GlyphLayout keyLayout = new com.badlogic.gdx.graphics.g2d.GlyphLayout(font, keyText);
-        font.draw(batch, keyText,
+        GlyphLayout keyLayout = hud.layout(keyText);
+        hud.text(keyText,
             centerX - 100 + (KEY_ICON_SIZE / 2) - (keyLayout.width / 2),
-            instructionY + (keyLayout.height / 2));
+            instructionY + (keyLayout.height / 2),
+            1.0f, 0.1f, 0.2f, 1.0f);
 
-        font.setColor(1.0f, 1.0f, 1.0f, 1.0f);
         String actionText = "Press to Restart";
-        font.draw(batch, actionText,
+        hud.text(actionText,
             centerX - 100 + KEY_ICON_SIZE + 10,
-            instructionY + (keyLayout.height / 2));
+            instructionY + (keyLayout.height / 2),
+            1.0f, 1.0f, 1.0f, 1.0f);
     }
 
-    private void drawDashEffect() {
-        if (!controller.isDashing()) return;
-
-        batch.end();
-        shapeRenderer.begin(ShapeType.Filled);
-
-        float dashProgress = controller.getDashCooldownPercentage();
-        Vector2 dashStartPosition = controller.getDashStartPosition();
-        Vector2 dashTargetPosition = controller.getDashTargetPosition();
-        Vector2 dashDirection = controller.getDashDirection();
-
-        final int trailCount = 5;
-
-        for (int i = 1; i <= trailCount; i++) {
-            float trailFactor = dashProgress - (i * 0.1f);
-
-            if (trailFactor >= 0.0f) {
-                float trailX = smootherLerp(dashStartPosition.x, dashTargetPosition.x, trailFactor);
-                float trailY = smootherLerp(dashStartPosition.y, dashTargetPosition.y, trailFactor);
-
-                float alpha = 0.9f * (1.0f - (float)i / trailCount);
-                float size = ship.getWidth() * (1.0f - (0.15f * i));
-
-                shapeRenderer.setColor(0.8f, 0.8f, 1.0f, alpha);
-                shapeRenderer.circle(trailX, trailY, size/2);
-            }
-        }
-
-        if (dashProgress < 0.2f) {
-            float burstSize = ship.getWidth() * (1.0f + dashProgress * 2.0f);
-            float burstAlpha = 0.5f * (1.0f - dashProgress * 5.0f);
-
-            shapeRenderer.setColor(1.0f, 1.0f, 1.0f, burstAlpha);
-            shapeRenderer.circle(
-                dashStartPosition.x,
-                dashStartPosition.y,
-                burstSize/2
-            );
-        }
-
-        shapeRenderer.end();
-        batch.begin();
-    }
-
-    private void drawDashCooldown() {
+    private void drawDashCooldown(Controller controller) {
         float targetPercentage = controller.getDashCooldownPercentage();
         prevCooldownPercentage = smoothLerp(prevCooldownPercentage, targetPercentage, 0.1f);
-        controller.setPrevCooldownPercentage(prevCooldownPercentage);
 
         float barWidth = 100.0f;
         float barHeight = 10.0f;
         float padding = 10.0f;
 
-        batch.end();
-        shapeRenderer.begin(ShapeType.Filled);
-
-        shapeRenderer.setColor(0.2f, 0.2f, 0.2f, 1.0f);
-        shapeRenderer.rect(padding, padding, barWidth, barHeight);
+        hud.rect(padding, padding, barWidth, barHeight, 0.2f, 0.2f, 0.2f, 1.0f);
 
-        Color fillColor;
-        if (controller.isDashReady()) {
-            fillColor = new Color(0.0f, 1.0f, 0.4f, 1.0f);
-        } else {
-            fillColor = new Color(
-                MathUtils.lerp(1.0f, 0.0f, prevCooldownPercentage),
-                MathUtils.lerp(0.5f, 1.0f, prevCooldownPercentage),
-                MathUtils.lerp(0.0f, 0.4f, prevCooldownPercentage),
-                1.0f
-            );
+        float fillR = 0.0f;
+        float fillG = 1.0f;
+        float fillB = 0.4f;
+        if (!controller.isDashReady()) {
+            fillR = MathUtils.lerp(1.0f, 0.0f, prevCooldownPercentage);
+            fillG = MathUtils.lerp(0.5f, 1.0f, prevCooldownPercentage);
+            fillB = MathUtils.lerp(0.0f, 0.4f, prevCooldownPercentage);
         }
 
-        shapeRenderer.setColor(fillColor);
-        shapeRenderer.rect(padding, padding, barWidth * prevCooldownPercentage, barHeight);
+        hud.rect(padding, padding, barWidth * prevCooldownPercentage, barHeight, fillR, fillG, fillB, 1.0f);
 
         if (controller.isDashReady()) {
-            float pulseScale = 0.1f * (MathUtils.sin(pulseTimer * 5.0f) * 0.5f + 0.5f);
-            shapeRenderer.setColor(fillColor);
-            shapeRenderer.rect(
+            hud.rect(
                 padding - 2.0f,
                 padding - 2.0f,
                 barWidth + 4.0f,
-                barHeight + 4.0f
+                barHeight + 4.0f,
+                fillR, fillG, fillB, 1.0f
             );
         }
-
-        shapeRenderer.end();
-        batch.begin();
-    }
-
-    private void updateAsteroids(float delta) {
-        asteroidSpawnTimer -= delta;
-        if (asteroidSpawnTimer <= 0.0f) {
-            spawnAsteroid();
-            asteroidSpawnTimer = ASTEROID_SPAWN_TIMER_MAX;
-        }
-
-        float playerRadius = ship.getRadius();
-
-        for (int i = asteroids.size - 1; i >= 0; i--) {
-            asteroids.get(i).update(delta);
-
-            if (!controller.isInvulnerable() && !gameOver) {
-                float asteroidRadius = asteroids.get(i).size / 2.0f;
-                if (checkCollision(ship.getPosition(), playerRadius, asteroids.get(i).getPosition(), asteroidRadius)) {
-                    playerTakeDamage();
-                }
-            }
-
-            if (isAsteroidOutOfBounds(asteroids.get(i))) {
-                asteroids.removeIndex(i);
-                continue;
-            }
-
-            asteroids.get(i).draw(renderer);
-        }
-    }
-
-    private void updateFruits(float delta) {
-        fruitSpawnTimer -= delta;
-        if (activeFruitCount < MAX_FRUIT && fruitSpawnTimer <= 0.0f) {
-            spawnFruit();
-            fruitSpawnTimer = FRUIT_SPAWN_TIMER_MAX;
-        }
-
-        float playerRadius = ship.getRadius();
-
-        for (int i = fruitPool.size - 1; i >= 0; i--) {
-            if (!controller.isInvulnerable() && !gameOver) {
-                if (checkCollision(ship.getPosition(), playerRadius, fruitPool.get(i).getPosition(), fruitPool.get(i).size / 2.0f)) {
-                    int value = fruitPool.get(i).getValuse();
-                    fruitPool.removeIndex(i);
-                    activeFruitCount--;
-                    collectedFruit += value;
-                    continue;
-                }
-            }
-
-            fruitPool.get(i).draw(renderer);
-        }
-    }
-
-    private void spawnAsteroid() {
-        if(asteroids.size < MAX_ASTEROIDS) {
-            asteroids.add(asteroidFactory.CreateAstroid(timePass, WORLD_WIDTH, WORLD_HEIGHT));
-        }
-    }
-
-    private void spawnFruit() {
-        fruitPool.add(fruitFactory.CreateFruit(timePass, WORLD_WIDTH, WORLD_HEIGHT, ship));
-        activeFruitCount++;
-    }
-
-    private boolean isAsteroidOutOfBounds(Asteroid asteroid) {
-        float padding = asteroid.size;
-        Vector2 pos = asteroid.getPosition();
-
-        return (pos.x < -padding || pos.x > WORLD_WIDTH + padding ||
-            pos.y < -padding || pos.y > WORLD_HEIGHT + padding);
-    }
-
-    private boolean checkCollision(Vector2 pos1, float radius1, Vector2 pos2, float radius2) {
-        float minDist = radius1 + radius2;
-        return pos1.dst2(pos2) <= minDist * minDist;
     }
 
     private boolean checkMouseCollision(Vector2 pos, float width, float height) {
-        Vector2 mousePos = new Vector2(Gdx.input.getX(), Gdx.input.getY());
-        viewport.unproject(mousePos);
+        Vector2 mousePos = viewport.unproject(mousePosition.set(Gdx.input.getX(), Gdx.input.getY()));
 
         return (mousePos.x >= pos.x && mousePos.x <= pos.x + width &&
             mousePos.y >= pos.y && mousePos.y <= pos.y + height);
     }
 
-    private void playerTakeDamage() {
-        if (!controller.isInvulnerable()) {
-            ship.takeDamage();
-            controller.setInvulnerable(true, 2);
-
-            if (ship.getHealth() <= 0) {
-                gameOver = true;
-            }
-        }
+    private float smoothLerp(float start, float end, float alpha) {
+        return start + (end - start) * alpha;
     }
 
-    private float smootherLerp(float start, float end, float t) {
-        t = t * t * t * (t * (t * 6 - 15) + 10);
-        return start + (end - start) * t;
+    private void finishReplay() {
+        Gdx.app.log("Replay", "Finished " + replay.getTick() + " ticks; checksum "
+            + Long.toHexString(world.checksum()));
+        Gdx.app.exit();
     }
 
-    private float smoothLerp(float start, float end, float alpha) {
-        return start + (end - start) * alpha;
+    private void finishBenchmark() {
+        String setup = String.format("Benchmark: %dx%d, MSAA %d, %d asteroids (%s), %d threads, %s simulation, seed %d",
+            Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight(),
+            options.getMsaa(), options.getBenchmarkAsteroids(),
+            worldRenderer.isInstancingAsteroids() ? "instanced" : "batched", options.getThreads(),
+            simulation != null ? "threaded" : "inline", world.getSeed());
+        for (String line : benchmark.report(setup)) {
+            Gdx.app.log("Benchmark", line);
+        }
+        benchmark = null;
+        Gdx.app.exit();
     }
 
     public void dispose() {
-        batch.dispose();
-        shapeRenderer.dispose();
-        defeatedTexture.dispose();
-        victoryTexture.dispose();
-        startTexture.dispose();
-        exitTexture.dispose();
-        spaceMonkeyBanerTexture.dispose();
-
-        ship.dispose();
-
-        for (Fruit fruit : fruitPool) {
-            fruit.dispose();
+        // The recorder, the world and the last snapshot the metrics saw all belong to this thread until it stops.
+        if (simulation != null) {
+            simulation.stop();
+        }
+        metrics.dispose();
+        if (recorder != null) {
+            recorder.save(new FileHandle(options.getRecordFile()));
+            Gdx.app.log("Recorder", "Saved " + recorder.getTickCount() + " ticks with seed "
+                + recorder.getSeed() + " to " + options.getRecordFile());
         }
 
-        for (Asteroid asteroid : asteroids) {
-            asteroid.dispose();
+        batch.dispose();
+        world.dispose();
+        if (simulationPool != null) {
+            simulationPool.shutdown();
         }
+        if (!loaded) {
+            loadingScreen.dispose();
+            textures.dispose();
+            return;
+        }
+
+        textures.release(TextureRegistry.GAME_ATLAS);
+        textures.release(BG_TEXTURE);
+        worldRenderer.dispose();
+        particles.dispose();
 
-        font.dispose();
+        perfOverlay.dispose();
+        menuLayer.dispose();
+        controlsLayer.dispose();
+        hud.dispose();
+        textures.dispose();
     }
 
     public void clear() {
-        timePass = 0.0;
-        asteroids.clear();
-        fruitPool.clear();
-        activeFruitCount = 0;
-        collectedFruit = 0;
+        accumulator = 0.0f;
+        input.clear();
+        particles.clear();
     }
 
     public void resize(int width, int height) {
         viewport.update(width, height);
+        if (loaded) {
+            updateLayerResolution();
+        }
+    }
+
+    /** Keeps the cached layers at native resolution and the particles at world size. */
+    private void updateLayerResolution() {
+        float pixelsPerUnit = viewport.getScreenWidth() / WORLD_WIDTH;
+        menuLayer.setPixelsPerUnit(pixelsPerUnit);
+        controlsLayer.setPixelsPerUnit(pixelsPerUnit);
+        particles.setPixelsPerUnit(pixelsPerUnit);
     }
 }
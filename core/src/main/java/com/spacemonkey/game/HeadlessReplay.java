@@ -0,0 +1,57 @@
+package com.spacemonkey.game;
+
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.Controller.InputReplay;
+import com.spacemonkey.game.Model.SpawnTables;
+
+/**
+ * Runs a recorded session through a {@link World} as fast as possible, with no window or GL
+ * context. Running the same recording before and after a change gives the same ticks, and
+ * {@link #getChecksum()} confirms that the simulation itself did not change.
+ */
+public class HeadlessReplay {
+    private static final float SIMULATION_STEP = 1.0f / 120.0f;
+
+    private final InputReplay replay;
+    private final World world;
+    private final InputCommand input = new InputCommand();
+
+    private int ticks;
+    private long elapsedNanos;
+
+    public HeadlessReplay(InputReplay replay, SpawnTables spawnTables) {
+        this.replay = replay;
+        this.world = new World(spawnTables, replay.getSeed());
+    }
+
+    public void run() {
+        long start = System.nanoTime();
+        while (replay.next(input)) {
+            world.tick(input, SIMULATION_STEP);
+            ticks++;
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getChecksum() {
+        return world.checksum();
+    }
+
+    public String summary() {
+        double millis = elapsedNanos / 1_000_000.0;
+        return String.format("Replayed %d ticks (%.1f s of game time) in %.1f ms, %.0f ticks/s; checksum %016x",
+            ticks, ticks * SIMULATION_STEP, millis, ticks / (millis / 1000.0), getChecksum());
+    }
+}
@@ -0,0 +1,266 @@
+package com.spacemonkey.game;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Command-line options shared by the launchers. */
+public class LaunchOptions {
+    public static final String USAGE =
+        "Options:\n"
+            + "  --seed <n>         seed the world instead of using the clock\n"
+            + "  --record <file>    record the seed and per-tick input to <file> on exit\n"
+            + "  --replay <file>    play back a recording instead of reading the keyboard\n"
+            + "  --headless         with --replay, run the simulation without a window at full speed\n"
+            + "  --metrics <dir>    write frame-time histograms and counters to <dir>\n"
+            + "  --metrics-interval <seconds>\n"
+            + "                     how often --metrics writes an interval (default 10)\n"
+            + "  --size <w>x<h>     window size (default 1280x720)\n"
+            + "  --msaa <samples>   multisample anti-aliasing samples (default 0)\n"
+            + "  --png-textures     decode the original PNGs instead of the raw texture cache\n"
+            + "  --gl30             ask for an OpenGL 3.2 core context, which draws asteroids instanced\n"
+            + "  --exit-after-first-frame\n"
+            + "                     quit once the first frame after loading is drawn, for startup timing\n"
+            + "  --benchmark        run a scripted session uncapped and print frame-rate statistics\n"
+            + "  --duration <seconds>\n"
+            + "                     how long --benchmark measures, after a short warm-up (default 30)\n"
+            + "  --asteroids <n>    asteroid count --benchmark holds the field at (default 2000)\n"
+            + "  --threads <n>      update asteroid fields of 8192 or more on n threads (default 1)\n"
+            + "  --sim-thread       run the simulation on its own thread; frames draw its latest snapshot\n";
+
+    public static final float DEFAULT_METRICS_INTERVAL = 10.0f;
+    public static final float DEFAULT_BENCHMARK_DURATION = 30.0f;
+    public static final int DEFAULT_BENCHMARK_ASTEROIDS = 2000;
+    /** A benchmark plays the same session every time unless {@code --seed} says otherwise. */
+    public static final long DEFAULT_BENCHMARK_SEED = 42L;
+
+    private String recordFile;
+    private String replayFile;
+    private boolean headless;
+    private String metricsDir;
+    private float metricsInterval = DEFAULT_METRICS_INTERVAL;
+    private boolean metricsIntervalSet;
+    private boolean seedSet;
+    private long seed;
+    private int width = 1280;
+    private int height = 720;
+    private int msaa = 0;
+    private boolean pngTextures;
+    private boolean gl30;
+    private boolean exitAfterFirstFrame;
+    private boolean benchmark;
+    private float benchmarkDuration = DEFAULT_BENCHMARK_DURATION;
+    private int benchmarkAsteroids = DEFAULT_BENCHMARK_ASTEROIDS;
+    private boolean benchmarkTuned;
+    private int threads = 1;
+    private boolean simulationThread;
+
+    public static LaunchOptions parse(String[] args) {
+        LaunchOptions options = new LaunchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--seed":
+                    String value = value(args, ++i, arg);
+                    try {
+                        options.seed = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new GdxRuntimeException("--seed expects a number, got: " + value);
+                    }
+                    options.seedSet = true;
+                    break;
+                case "--record":
+                    options.recordFile = value(args, ++i, arg);
+                    break;
+                case "--replay":
+                    options.replayFile = value(args, ++i, arg);
+                    break;
+                case "--headless":
+                    options.headless = true;
+                    break;
+                case "--metrics":
+                    options.metricsDir = value(args, ++i, arg);
+                    break;
+                case "--metrics-interval":
+                    String seconds = value(args, ++i, arg);
+                    try {
+                        options.metricsInterval = Float.parseFloat(seconds);
+                    } catch (NumberFormatException e) {
+                        throw new GdxRuntimeException("--metrics-interval expects a number of seconds, got: " + seconds);
+                    }
+                    if (!(options.metricsInterval > 0.0f)) {
+                        throw new GdxRuntimeException("--metrics-interval must be positive, got: " + seconds);
+                    }
+                    options.metricsIntervalSet = true;
+                    break;
+                case "--size":
+                    String size = value(args, ++i, arg);
+                    int separator = size.indexOf('x');
+                    try {
+                        options.width = Integer.parseInt(size.substring(0, Math.max(0, separator)));
+                        options.height = Integer.parseInt(size.substring(separator + 1));
+                    } catch (NumberFormatException e) {
+                        throw new GdxRuntimeException("--size expects <width>x<height>, got: " + size);
+                    }
+                    if (options.width <= 0 || options.height <= 0) {
+                        throw new GdxRuntimeException("--size must be positive, got: " + size);
+                    }
+                    break;
+                case "--msaa":
+                    options.msaa = positiveInt(value(args, ++i, arg), arg, true);
+                    break;
+                case "--png-textures":
+                    options.pngTextures = true;
+                    break;
+                case "--gl30":
+                    options.gl30 = true;
+                    break;
+                case "--exit-after-first-frame":
+                    options.exitAfterFirstFrame = true;
+                    break;
+                case "--benchmark":
+                    options.benchmark = true;
+                    break;
+                case "--duration":
+                    String duration = value(args, ++i, arg);
+                    try {
+                        options.benchmarkDuration = Float.parseFloat(duration);
+                    } catch (NumberFormatException e) {
+                        throw new GdxRuntimeException("--duration expects a number of seconds, got: " + duration);
+                    }
+                    if (!(options.benchmarkDuration > 0.0f)) {
+                        throw new GdxRuntimeException("--duration must be positive, got: " + duration);
+                    }
+                    options.benchmarkTuned = true;
+                    break;
+                case "--asteroids":
+                    options.benchmarkAsteroids = positiveInt(value(args, ++i, arg), arg, false);
+                    options.benchmarkTuned = true;
+                    break;
+                case "--threads":
+                    options.threads = positiveInt(value(args, ++i, arg), arg, false);
+                    break;
+                case "--sim-thread":
+                    options.simulationThread = true;
+                    break;
+                default:
+                    throw new GdxRuntimeException("Unknown option: " + arg + "\n" + USAGE);
+            }
+        }
+
+        if (options.headless && options.replayFile == null) {
+            throw new GdxRuntimeException("--headless needs --replay <file>");
+        }
+        if (options.replayFile != null && options.seedSet) {
+            throw new GdxRuntimeException("--seed can't be combined with --replay; the recording has its own seed");
+        }
+        if (options.benchmarkTuned && !options.benchmark) {
+            throw new GdxRuntimeException("--duration and --asteroids only apply to --benchmark");
+        }
+        if (options.benchmark && (options.replayFile != null || options.recordFile != null)) {
+            throw new GdxRuntimeException("--benchmark plays its own scripted session; it can't record or replay");
+        }
+        if (options.metricsIntervalSet && options.metricsDir == null) {
+            throw new GdxRuntimeException("--metrics-interval needs --metrics <dir>");
+        }
+        if (options.headless && options.metricsDir != null) {
+            throw new GdxRuntimeException("--metrics records frames, so it can't be combined with --headless");
+        }
+        if (options.headless && options.simulationThread) {
+            throw new GdxRuntimeException("--headless already runs the simulation alone; --sim-thread doesn't apply");
+        }
+        return options;
+    }
+
+    private static int positiveInt(String value, String option, boolean allowZero) {
+        int result;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new GdxRuntimeException(option + " expects a whole number, got: " + value);
+        }
+        if (result < 0 || (result == 0 && !allowZero)) {
+            throw new GdxRuntimeException(option + " is out of range: " + value);
+        }
+        return result;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new GdxRuntimeException(option + " needs a value\n" + USAGE);
+        }
+        return args[index];
+    }
+
+    public String getRecordFile() {
+        return recordFile;
+    }
+
+    public String getReplayFile() {
+        return replayFile;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public String getMetricsDir() {
+        return metricsDir;
+    }
+
+    public float getMetricsInterval() {
+        return metricsInterval;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getMsaa() {
+        return msaa;
+    }
+
+    public boolean isPngTextures() {
+        return pngTextures;
+    }
+
+    public boolean isGl30() {
+        return gl30;
+    }
+
+    public boolean isExitAfterFirstFrame() {
+        return exitAfterFirstFrame;
+    }
+
+    public boolean isBenchmark() {
+        return benchmark;
+    }
+
+    public float getBenchmarkDuration() {
+        return benchmarkDuration;
+    }
+
+    public int getBenchmarkAsteroids() {
+        return benchmarkAsteroids;
+    }
+
+    /** Threads for the asteroid update; 1 keeps the whole simulation on the render thread. */
+    public int getThreads() {
+        return threads;
+    }
+
+    /** Whether the simulation ticks on a thread of its own instead of inside each frame. */
+    public boolean isSimulationThread() {
+        return simulationThread;
+    }
+
+    /** The seed given with {@code --seed}, the fixed benchmark seed, or one taken from the clock. */
+    public long getSeed() {
+        if (seedSet) {
+            return seed;
+        }
+        return benchmark ? DEFAULT_BENCHMARK_SEED : System.nanoTime();
+    }
+}
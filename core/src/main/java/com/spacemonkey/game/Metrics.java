@@ -0,0 +1,29 @@
+package com.spacemonkey.game;
+
+/**
+ * Receives per-frame timings from {@link Game}. Core only knows this interface; the desktop
+ * launcher plugs in an implementation that writes log files when started with {@code --metrics}.
+ */
+public interface Metrics {
+    /** Records nothing. */
+    Metrics NONE = new Metrics() {
+        @Override
+        public void frame(long frameNanos, long updateNanos, long renderNanos, WorldView world) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    };
+
+    /**
+     * Called once at the end of every frame. {@code frameNanos} is the time since the previous
+     * frame started and is zero on the first frame; {@code updateNanos} is zero on menu frames.
+     * The world's running totals can be read for spawn and collision counts; with a simulation
+     * thread, {@code world} is the snapshot that frame drew and {@code updateNanos} its latest tick.
+     */
+    void frame(long frameNanos, long updateNanos, long renderNanos, WorldView world);
+
+    /** Writes out whatever hasn't been written yet. */
+    void dispose();
+}
@@ -0,0 +1,84 @@
+package com.spacemonkey.game.Model;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.Random;
+
+/**
+ * Samples an index in proportion to a fixed set of weights in O(1), using Vose's alias method.
+ * Each of the {@code n} columns keeps its own index with probability {@code probability[i]} and
+ * otherwise hands over to {@code alias[i]}, so a sample is one uniform int plus one uniform float.
+ */
+public class AliasTable {
+    private final float[] probability;
+    private final int[] alias;
+
+    public AliasTable(float[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new GdxRuntimeException("An alias table needs at least one weight");
+        }
+
+        float sum = 0.0f;
+        for (float weight : weights) {
+            if (weight < 0.0f) {
+                throw new GdxRuntimeException("Alias table weights can't be negative: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum <= 0.0f) {
+            throw new GdxRuntimeException("Alias table weights must not all be zero");
+        }
+
+        probability = new float[n];
+        alias = new int[n];
+
+        // Scale so the average column is 1, then pair every under-full column with an over-full one.
+        float[] scaled = new float[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0f) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0f;
+            if (scaled[more] < 1.0f) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is 1 up to rounding error.
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1.0f;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1.0f;
+            alias[i] = i;
+        }
+    }
+
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextFloat() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
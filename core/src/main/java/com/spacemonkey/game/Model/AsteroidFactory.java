@@ -1,118 +1,61 @@
 package com.spacemonkey.game.Model;
 
-import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Random;
 
 public class AsteroidFactory {
-    private Map<String, Integer> typeChances;
-    private Random random;
-    public AsteroidFactory()
-    {
-        typeChances = new LinkedHashMap<>();
-        random = new Random();
-    }
-
-
-
-    public String getRandomType(Map<String, Integer> chances) {
-        int total = 0;
-        for (int chance : chances.values()) {
-            total += chance;
-        }
+    private final SpawnTable<AsteroidType> types;
+    private final Random random;
 
-        int randomVal = random.nextInt(total);
-        int cumulative = 0;
+    private final Vector2 position = new Vector2();
+    private final Vector2 centerPoint = new Vector2();
+    private final Vector2 direction = new Vector2();
 
-        for (Map.Entry<String, Integer> entry : chances.entrySet()) {
-            cumulative += entry.getValue();
-            if (randomVal < cumulative) {
-                return entry.getKey();
-            }
-        }
-
-        return null;
+    public AsteroidFactory(SpawnTable<AsteroidType> types, Random random)
+    {
+        this.types = types;
+        this.random = random;
     }
-    public Asteroid CreateAstroid(double timePass, float widthW, float heightW) {
 
-        typeChances.clear();
-
-
-        if(timePass > 20.0) {
-            typeChances.put("Fire", 50);
-            typeChances.put("Frize", 30);
-            typeChances.put("Normal", 20);
-        } else if(timePass > 10.0) {
-            typeChances.put("Fire", 10);
-            typeChances.put("Frize", 60);
-            typeChances.put("Normal", 30);
-        } else {
-            typeChances.put("Fire", 5);
-            typeChances.put("Frize", 10);
-            typeChances.put("Normal", 85);
-        }
+    /** @return the index of the new asteroid in {@code field}, or -1 if the field is full. */
+    public int CreateAstroid(AsteroidField field, double timePass, float widthW, float heightW) {
+        AsteroidType type = types.sample(timePass, random);
+        float accelaration = type.speed;
+        float size = type.size;
 
-        String type = getRandomType(typeChances);
-        if (type == null) {
-
-            type = "Normal";
-        }
-
-        Asteroid asteroid;
-        float size;
-
-        if (type.equalsIgnoreCase("Normal")) {
-            asteroid = new Asteroid("textures/asteroid.png",300.0f);
-            size = 30.0f;
-        } else if (type.equalsIgnoreCase("Frize")) {
-            asteroid = new Asteroid("textures/asteroid_frize.png", 600.0f);
-            size = 100.0f;
-        } else if (type.equalsIgnoreCase("Fire")) {
-            asteroid = new Asteroid("textures/asteroid_fire.png", 800.0f);
-            size = 120.0f;
-        } else {
-
-            asteroid = new Asteroid("textures/asteroid.png", 300.0f);
-            size = 30.0f;
-        }
-
-
-        Vector2 position = new Vector2();
-
-
-        int spawnSide = MathUtils.random(0, 3);
+        int spawnSide = random.nextInt(4);
         switch (spawnSide) {
             case 0:
-                position.set(MathUtils.random(0, widthW), -size);
+                position.set(randomRange(0, widthW), -size);
                 break;
             case 1:
-                position.set(widthW + size, MathUtils.random(0, heightW));
+                position.set(widthW + size, randomRange(0, heightW));
                 break;
             case 2:
-                position.set(MathUtils.random(0, widthW), heightW + size);
+                position.set(randomRange(0, widthW), heightW + size);
                 break;
             case 3:
-                position.set(-size, MathUtils.random(0, heightW));
+                position.set(-size, randomRange(0, heightW));
                 break;
         }
 
-        Vector2 centerPoint = new Vector2(
-            widthW * (0.3f + MathUtils.random() * 0.4f),
-            heightW * (0.3f + MathUtils.random() * 0.4f)
+        centerPoint.set(
+            widthW * (0.3f + random.nextFloat() * 0.4f),
+            heightW * (0.3f + random.nextFloat() * 0.4f)
         );
 
-        Vector2 direction = new Vector2(centerPoint).sub(position).nor();
-        float rotationSpeed = MathUtils.random(-2.0f, 2.0f);
+        direction.set(centerPoint).sub(position).nor();
+        float rotationSpeed = randomRange(-2.0f, 2.0f);
 
 
-        asteroid.size = size;
-        asteroid.setPosition(position);
-        asteroid.setVelocity(direction);
-        asteroid.setRotationSpeed(rotationSpeed);
+        return field.spawn(
+            position.x, position.y,
+            direction.x * accelaration, direction.y * accelaration,
+            rotationSpeed, size, type.id);
+    }
 
-        return asteroid;
+    private float randomRange(float start, float end) {
+        return start + random.nextFloat() * (end - start);
     }
 }
@@ -0,0 +1,246 @@
+package com.spacemonkey.game.Model;
+
+/**
+ * All live asteroids, stored as parallel primitive arrays instead of one object per asteroid.
+ * Index {@code i} of every array describes the same asteroid; entries {@code [0, size)} are live.
+ * Removal swaps the last live entry into the freed slot, so the live range stays dense and
+ * the update loops run over contiguous memory.
+ */
+public class AsteroidField {
+    public static final byte TYPE_NORMAL = 0;
+    public static final byte TYPE_FRIZE = 1;
+    public static final byte TYPE_FIRE = 2;
+    public static final int TYPE_COUNT = 3;
+
+    private final int capacity;
+    private int size;
+
+    private final float[] x;
+    private final float[] y;
+    private final float[] previousX;
+    private final float[] previousY;
+    private final float[] previousRotation;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] rotation;
+    private final float[] rotationSpeed;
+    private final float[] diameter;
+    private final byte[] type;
+
+    public AsteroidField(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.previousX = new float[capacity];
+        this.previousY = new float[capacity];
+        this.previousRotation = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.rotation = new float[capacity];
+        this.rotationSpeed = new float[capacity];
+        this.diameter = new float[capacity];
+        this.type = new byte[capacity];
+    }
+
+    /** @return the index of the new asteroid, or -1 if the field is full. */
+    public int spawn(float x, float y, float velocityX, float velocityY, float rotationSpeed, float diameter, byte type) {
+        if (size >= capacity) {
+            return -1;
+        }
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.previousX[i] = x;
+        this.previousY[i] = y;
+        this.previousRotation[i] = 0.0f;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.rotation[i] = 0.0f;
+        this.rotationSpeed[i] = rotationSpeed;
+        this.diameter[i] = diameter;
+        this.type[i] = type;
+        return i;
+    }
+
+    /** Remembers the state at the start of a simulation tick, for interpolated drawing. */
+    public void savePreviousState() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+        System.arraycopy(rotation, 0, previousRotation, 0, size);
+    }
+
+    public void update(float dt) {
+        update(0, size, dt);
+    }
+
+    /** Integrates asteroids {@code [from, to)}; disjoint ranges can be updated on different threads. */
+    public void update(int from, int to, float dt) {
+        final float[] x = this.x, y = this.y, vx = velocityX, vy = velocityY;
+        final float[] rot = rotation, rotSpeed = rotationSpeed;
+
+        // Kept as separate single-stream loops so C2 can vectorize each one.
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i] * dt;
+        }
+        for (int i = from; i < to; i++) {
+            y[i] += vy[i] * dt;
+        }
+        for (int i = from; i < to; i++) {
+            rot[i] += rotSpeed[i] * dt;
+        }
+    }
+
+    /**
+     * Removes every asteroid that is more than its own diameter outside the given bounds.
+     * @return the number of asteroids removed.
+     */
+    public int cull(float width, float height) {
+        int removed = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (isOutOfBounds(i, width, height)) {
+                remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Sets {@code marks[i]} to 1 for every asteroid in {@code [from, to)} that {@link #cull} would
+     * remove and to 0 for the rest, without removing anything. Disjoint ranges can run on different
+     * threads. Whether an asteroid is culled depends only on its own position, so this is the same
+     * decision {@code cull} makes.
+     */
+    public void markOutOfBounds(int from, int to, float width, float height, byte[] marks) {
+        for (int i = from; i < to; i++) {
+            marks[i] = isOutOfBounds(i, width, height) ? (byte)1 : (byte)0;
+        }
+    }
+
+    /**
+     * Removes the asteroids marked by {@link #markOutOfBounds} over the whole live range, in the
+     * order {@link #cull} removes them, so the field ends up exactly as {@code cull} would leave it.
+     * @return the number of asteroids removed.
+     */
+    public int removeMarked(byte[] marks) {
+        int removed = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (marks[i] != 0) {
+                remove(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Whether any asteroid in {@code [from, to)} overlaps the circle, skipping those marked in
+     * {@code excluded} (which may be null). Uses the same test as the broadphase.
+     */
+    public boolean overlapsAny(int from, int to, float cx, float cy, float r, byte[] excluded) {
+        for (int i = from; i < to; i++) {
+            if ((excluded == null || excluded[i] == 0)
+                && SpatialHash.overlaps(cx, cy, r, x[i], y[i], diameter[i] / 2.0f)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOutOfBounds(int i, float width, float height) {
+        float padding = diameter[i];
+        float px = x[i];
+        float py = y[i];
+        return px < -padding || px > width + padding || py < -padding || py > height + padding;
+    }
+
+    public void remove(int i) {
+        int last = --size;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            previousX[i] = previousX[last];
+            previousY[i] = previousY[last];
+            previousRotation[i] = previousRotation[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            rotation[i] = rotation[last];
+            rotationSpeed[i] = rotationSpeed[last];
+            diameter[i] = diameter[last];
+            type[i] = type[last];
+        }
+    }
+
+    /** Makes this field a copy of {@code other}, which must not hold more than this one's capacity. */
+    public void copyFrom(AsteroidField other) {
+        int n = other.size;
+        System.arraycopy(other.x, 0, x, 0, n);
+        System.arraycopy(other.y, 0, y, 0, n);
+        System.arraycopy(other.previousX, 0, previousX, 0, n);
+        System.arraycopy(other.previousY, 0, previousY, 0, n);
+        System.arraycopy(other.previousRotation, 0, previousRotation, 0, n);
+        System.arraycopy(other.velocityX, 0, velocityX, 0, n);
+        System.arraycopy(other.velocityY, 0, velocityY, 0, n);
+        System.arraycopy(other.rotation, 0, rotation, 0, n);
+        System.arraycopy(other.rotationSpeed, 0, rotationSpeed, 0, n);
+        System.arraycopy(other.diameter, 0, diameter, 0, n);
+        System.arraycopy(other.type, 0, type, 0, n);
+        size = n;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public float[] getX() {
+        return x;
+    }
+
+    public float[] getY() {
+        return y;
+    }
+
+    public float[] getVelocityX() {
+        return velocityX;
+    }
+
+    public float[] getVelocityY() {
+        return velocityY;
+    }
+
+    public float[] getPreviousX() {
+        return previousX;
+    }
+
+    public float[] getPreviousY() {
+        return previousY;
+    }
+
+    public float[] getPreviousRotation() {
+        return previousRotation;
+    }
+
+    public float[] getRotation() {
+        return rotation;
+    }
+
+    public float[] getRotationSpeed() {
+        return rotationSpeed;
+    }
+
+    public float[] getDiameter() {
+        return diameter;
+    }
+
+    public byte[] getType() {
+        return type;
+    }
+}
@@ -0,0 +1,19 @@
+package com.spacemonkey.game.Model;
+
+/** The asteroid archetypes a spawn table can pick from. */
+public enum AsteroidType {
+    NORMAL(AsteroidField.TYPE_NORMAL, 300.0f, 30.0f),
+    FRIZE(AsteroidField.TYPE_FRIZE, 600.0f, 100.0f),
+    FIRE(AsteroidField.TYPE_FIRE, 800.0f, 120.0f);
+
+    /** The value stored in {@link AsteroidField#getType()}. */
+    public final byte id;
+    public final float speed;
+    public final float size;
+
+    AsteroidType(byte id, float speed, float size) {
+        this.id = id;
+        this.speed = speed;
+        this.size = size;
+    }
+}
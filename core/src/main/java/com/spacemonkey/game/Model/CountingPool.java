@@ -0,0 +1,39 @@
+package com.spacemonkey.game.Model;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * A {@link Pool} that counts how many {@link #obtain()} calls were served from the free list
+ * (hits) and how many had to allocate a new object (misses).
+ */
+public abstract class CountingPool<T> extends Pool<T> {
+    private int hits;
+    private int misses;
+
+    public CountingPool(int capacity) {
+        super(capacity, capacity);
+    }
+
+    @Override
+    public T obtain() {
+        if (getFree() > 0) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return super.obtain();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -1,27 +1,34 @@
 package com.spacemonkey.game.Model;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
-import com.spacemonkey.game.View.GameRenderer;
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+public class Fruit implements Poolable {
+    public static final int TYPE_GRAPE = 0;
+    public static final int TYPE_BANANA = 1;
+    public static final int TYPE_COUNT = 2;
 
-public class Fruit {
     private Vector2 position;
     public float size = 50.0f;
-    private Texture fruitTextures;
+    private int type;
     private int valuse;
 
-    public Fruit(String Type, int valuse) {
+    public Fruit() {
         this.position = new Vector2();
-        this.valuse = valuse;
-        fruitTextures = new Texture(Gdx.files.internal(Type));
+    }
 
+    public void init(int type, int valuse) {
+        this.type = type;
+        this.valuse = valuse;
     }
 
     public Vector2 getPosition() {
         return position;
     }
+    public int getType() {
+        return type;
+    }
+
     public int getValuse()
     {
         return valuse;
@@ -31,16 +38,10 @@ public class Fruit {
         this.position.set(position);
     }
 
-    public void draw(GameRenderer renderer) {
-        renderer.render(fruitTextures, position.x - size/2,
-            position.y - size/2,
-            size, size);
-
-    }
-
-    public void dispose(){
-
-        fruitTextures.dispose();
-
+    @Override
+    public void reset() {
+        position.setZero();
+        type = TYPE_GRAPE;
+        valuse = 0;
     }
 }
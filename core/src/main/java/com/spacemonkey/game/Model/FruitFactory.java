@@ -2,75 +2,41 @@ package com.spacemonkey.game.Model;
 
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Random;
 
 
 public class FruitFactory {
-    private Map<String, Integer> typeChances;
-    private Random random;
-    public FruitFactory()
-    {
-        typeChances = new LinkedHashMap<>();
-        random = new Random();
-    }
+    private final SpawnTable<FruitType> types;
+    private final Random random;
+    private CountingPool<Fruit> pool;
 
+    private final Vector2 position = new Vector2();
+    private final Vector2 shipDirection = new Vector2();
 
+    public FruitFactory(int poolSize, SpawnTable<FruitType> types, Random random)
+    {
+        this.types = types;
+        this.random = random;
 
-    public String getRandomType(Map<String, Integer> chances) {
-        int total = 0;
-        for (int chance : chances.values()) {
-            total += chance;
-        }
-
-        int randomVal = random.nextInt(total);
-        int cumulative = 0;
-
-        for (Map.Entry<String, Integer> entry : chances.entrySet()) {
-            cumulative += entry.getValue();
-            if (randomVal < cumulative) {
-                return entry.getKey();
+        pool = new CountingPool<Fruit>(poolSize) {
+            @Override
+            protected Fruit newObject() {
+                return new Fruit();
             }
-        }
-
-        return null;
+        };
+        pool.fill(poolSize);
     }
-    public Fruit CreateFruit(double timePass, float widthW, float heightW, Ship ship) {
-        typeChances.clear();
-
-
-        if(timePass > 20.0) {
-            typeChances.put("banana", 50);
-            typeChances.put("grape", 50);
-        } else if(timePass > 10.0) {
-            typeChances.put("banana", 30);
-            typeChances.put("grape", 70);
-        } else {
-            typeChances.put("banana", 10);
-            typeChances.put("grape", 90);
-        }
-
-        String type = getRandomType(typeChances);
-        if (type == null) {
-
-            type = "grape";
-        }
 
-        Fruit fruit;
 
-        if (type.equalsIgnoreCase("grape")) {
-            fruit = new Fruit("textures/fruit2.png", 1);
-        } else if (type.equalsIgnoreCase("banana")) {
-            fruit = new Fruit("textures/fruit1.png", 2);
-        } else {
 
-            fruit = new Fruit("textures/fruit2.png", 1);
-        }
+    public Fruit CreateFruit(double timePass, float widthW, float heightW, Ship ship) {
+        FruitType type = types.sample(timePass, random);
 
+        Fruit fruit = pool.obtain();
+        fruit.init(type.id, type.value);
 
-        Vector2 position = new Vector2();
         boolean validPosition = false;
         int attempts = 0;
         float padding = 100.0f;
@@ -78,8 +44,8 @@ public class FruitFactory {
 
         while (!validPosition && attempts < 20) {
             position.set(
-                MathUtils.random(padding, widthW - padding),
-                MathUtils.random(padding, heightW - padding)
+                randomRange(padding, widthW - padding),
+                randomRange(padding, heightW - padding)
             );
 
             if (position.dst(ship.getPosition()) >= minPlayerDistance) {
@@ -91,7 +57,7 @@ public class FruitFactory {
 
         if (!validPosition) {
 
-            Vector2 shipDirection = new Vector2(1, 0).rotate(MathUtils.random(360));
+            shipDirection.set(1, 0).rotateDeg(random.nextInt(361));
             position.set(ship.getPosition()).add(shipDirection.scl(minPlayerDistance + 50));
 
 
@@ -102,4 +68,24 @@ public class FruitFactory {
         fruit.setPosition(position);
         return fruit;
     }
+
+    public void free(Fruit fruit) {
+        pool.free(fruit);
+    }
+
+    public void freeAll(Array<Fruit> fruits) {
+        pool.freeAll(fruits);
+    }
+
+    public CountingPool<Fruit> getPool() {
+        return pool;
+    }
+
+    public void dispose() {
+        pool.clear();
+    }
+
+    private float randomRange(float start, float end) {
+        return start + random.nextFloat() * (end - start);
+    }
 }
@@ -0,0 +1,16 @@
+package com.spacemonkey.game.Model;
+
+/** The fruit archetypes a spawn table can pick from. */
+public enum FruitType {
+    GRAPE(Fruit.TYPE_GRAPE, 1),
+    BANANA(Fruit.TYPE_BANANA, 2);
+
+    /** The value returned by {@link Fruit#getType()}. */
+    public final int id;
+    public final int value;
+
+    FruitType(int id, int value) {
+        this.id = id;
+        this.value = value;
+    }
+}
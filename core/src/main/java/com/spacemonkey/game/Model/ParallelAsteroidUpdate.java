@@ -0,0 +1,121 @@
+package com.spacemonkey.game.Model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs one tick of asteroid work on a {@link ForkJoinPool}: integration, the out-of-bounds test
+ * and the ship's collision test, each over a fixed range of indices per task.
+ * <p>
+ * The result is bit-identical to the serial {@code update}, {@code cull} and broadphase query.
+ * Every asteroid's new state and cull decision depend only on that asteroid, the chunks only mark
+ * culls, and the marks are applied afterwards on the calling thread in the serial order. The
+ * ship test skips marked asteroids, so it sees the same survivors the broadphase would.
+ * <p>
+ * The tasks are made once and reinitialized every tick. What little a tick allocates is the
+ * pool's own bookkeeping while the calling thread waits for a join.
+ */
+public class ParallelAsteroidUpdate {
+    /**
+     * Asteroids per task. Large enough that neighbouring tasks share at most the one cache line
+     * of each array that straddles their boundary.
+     */
+    public static final int CHUNK_SIZE = 2048;
+
+    private final ForkJoinPool pool;
+    private final AsteroidField field;
+    private final byte[] outOfBounds;
+    private final Chunk[] chunks;
+    private final Root root = new Root();
+    private int chunkCount;
+
+    // This tick's parameters; written before the pool is invoked, which publishes them to the workers.
+    private float dt;
+    private float width;
+    private float height;
+    private boolean testShip;
+    private float shipX;
+    private float shipY;
+    private float shipRadius;
+
+    public ParallelAsteroidUpdate(ForkJoinPool pool, AsteroidField field) {
+        this.pool = pool;
+        this.field = field;
+        this.outOfBounds = new byte[field.capacity()];
+        this.chunks = new Chunk[(field.capacity() + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new Chunk();
+        }
+    }
+
+    /**
+     * Integrates every asteroid by {@code dt}, removes those outside the bounds and, if
+     * {@code testShip}, reports whether any that remain overlap the ship's circle.
+     */
+    public boolean step(float dt, float width, float height,
+                        boolean testShip, float shipX, float shipY, float shipRadius) {
+        int n = field.size();
+        this.dt = dt;
+        this.width = width;
+        this.height = height;
+        this.testShip = testShip;
+        this.shipX = shipX;
+        this.shipY = shipY;
+        this.shipRadius = shipRadius;
+
+        chunkCount = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        for (int i = 0; i < chunkCount; i++) {
+            Chunk chunk = chunks[i];
+            chunk.reinitialize();
+            chunk.from = i * CHUNK_SIZE;
+            chunk.to = Math.min(n, chunk.from + CHUNK_SIZE);
+            chunk.hit = false;
+        }
+        root.reinitialize();
+        pool.invoke(root);
+
+        boolean hit = false;
+        for (int i = 0; i < chunkCount; i++) {
+            hit |= chunks[i].hit;
+        }
+        field.removeMarked(outOfBounds);
+        return hit;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /** Forks every chunk but the first, runs that one itself, then waits for the rest. */
+    private class Root extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < chunkCount; i++) {
+                chunks[i].fork();
+            }
+            if (chunkCount > 0) {
+                chunks[0].invoke();
+            }
+            for (int i = chunkCount - 1; i >= 1; i--) {
+                chunks[i].join();
+            }
+        }
+    }
+
+    private class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        int from;
+        int to;
+        boolean hit;
+
+        @Override
+        protected void compute() {
+            field.update(from, to, dt);
+            field.markOutOfBounds(from, to, width, height, outOfBounds);
+            hit = testShip && field.overlapsAny(from, to, shipX, shipY, shipRadius, outOfBounds);
+        }
+    }
+}
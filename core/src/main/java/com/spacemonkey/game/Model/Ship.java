@@ -1,10 +1,5 @@
 package com.spacemonkey.game.Model;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector2;
 
 public class Ship {
@@ -17,21 +12,24 @@ public class Ship {
 
     // Ship properties
     private Vector2 position;
+    private Vector2 previousPosition;
     private Vector2 velocity;
     private float width = 100.0f;
     private float height = 100.0f;
-    private Texture shipTexture;
 
     // Health system
     private static final int MAX_HEALTH = 6;
     private int health = MAX_HEALTH;
-    private HealthBar healthBar;
+    private boolean[] lifeCountActive;
 
     public Ship() {
         this.position = new Vector2(100.0f, 100.0f);
+        this.previousPosition = new Vector2(position);
         this.velocity = new Vector2(0.0f, 0.0f);
-        shipTexture = new Texture(Gdx.files.internal("textures/monkeySpaceShip.png"));
-        healthBar = new HealthBar(MAX_HEALTH, WORLD_HEIGHT);
+        this.lifeCountActive = new boolean[MAX_HEALTH];
+        for (int i = 0; i < MAX_HEALTH; i++) {
+            lifeCountActive[i] = true;
+        }
     }
 
     public Vector2 getPosition() {
@@ -42,6 +40,10 @@ public class Ship {
         this.position.set(position);
     }
 
+    public void setPosition(float x, float y) {
+        this.position.set(x, y);
+    }
+
     public Vector2 getVelocity() {
         return velocity;
     }
@@ -50,6 +52,10 @@ public class Ship {
         this.velocity.set(velocity);
     }
 
+    public void setVelocity(float x, float y) {
+        this.velocity.set(x, y);
+    }
+
     public float getWidth() {
         return width;
     }
@@ -66,11 +72,19 @@ public class Ship {
         return health;
     }
 
+    public int getMaxHealth() {
+        return MAX_HEALTH;
+    }
+
+    public boolean[] getLifeCountActive() {
+        return lifeCountActive;
+    }
+
     public void setHealth(int health) {
         this.health = health;
         // Update health bar display
         for (int i = 0; i < MAX_HEALTH; i++) {
-            healthBar.lifeCountActive[i] = (i < health);
+            lifeCountActive[i] = (i < health);
         }
     }
 
@@ -82,31 +96,37 @@ public class Ship {
         health--;
         // Update health bar
         if (health >= 0) {
-            healthBar.lifeCountActive[health] = false;
+            lifeCountActive[health] = false;
         }
     }
 
     public void reset() {
         position.set(100.0f, 100.0f);
+        previousPosition.set(position);
         velocity.set(0.0f, 0.0f);
         health = MAX_HEALTH;
         // Reset health bar
         for (int i = 0; i < MAX_HEALTH; i++) {
-            healthBar.lifeCountActive[i] = true;
+            lifeCountActive[i] = true;
         }
     }
 
-    public void drawShip(SpriteBatch batch) {
-        batch.draw(
-            shipTexture,
-            position.x - width/2,
-            position.y - height/2,
-            width, height
-        );
+    /** Copies the whole state of {@code other}. */
+    public void set(Ship other) {
+        position.set(other.position);
+        previousPosition.set(other.previousPosition);
+        velocity.set(other.velocity);
+        health = other.health;
+        System.arraycopy(other.lifeCountActive, 0, lifeCountActive, 0, MAX_HEALTH);
     }
 
-    public void drawHealthBar(SpriteBatch batch, ShapeRenderer shapeRenderer) {
-        healthBar.draw(batch, shapeRenderer, health);
+    /** Remembers the position at the start of a simulation tick, for interpolated drawing. */
+    public void savePreviousState() {
+        previousPosition.set(position);
+    }
+
+    public Vector2 getPreviousPosition() {
+        return previousPosition;
     }
 
     public void updateMovement(Vector2 inputDirection, float delta) {
@@ -123,14 +143,15 @@ public class Ship {
             }
         } else {
             // Decelerate when no input
-            if (velocity.len() > 0.0f) {
-                Vector2 deceleration = new Vector2(velocity).nor().scl(DECELERATION * delta);
+            float speed = velocity.len();
+            if (speed > 0.0f) {
+                float deceleration = DECELERATION * delta;
 
                 // Make sure we don't overshoot zero
-                if (deceleration.len() > velocity.len()) {
+                if (deceleration > speed) {
                     velocity.set(0, 0);
                 } else {
-                    velocity.sub(deceleration);
+                    velocity.scl((speed - deceleration) / speed);
                 }
             }
         }
@@ -156,65 +177,4 @@ public class Ship {
         if (position.y > WORLD_HEIGHT + height)
             position.y = -height;
     }
-
-    public void dispose() {
-        shipTexture.dispose();
-    }
-
-    // Health bar class definition
-    public class HealthBar {
-        private Vector2 position;
-        private float width = 200.0f;
-        private float height = 100.0f;
-        public boolean[] lifeCountActive;
-        private int max_health;
-        private Texture healthbarTexture;
-
-        public HealthBar(int max_health, float world_height) {
-            this.position = new Vector2(5, world_height - height - 5);
-            this.lifeCountActive = new boolean[max_health];
-            this.max_health = max_health;
-            for (int i = 0; i < max_health; i++) {
-                this.lifeCountActive[i] = true;
-            }
-            healthbarTexture = new Texture(Gdx.files.internal("textures/healthbar.png"));
-        }
-
-        public void draw(SpriteBatch batch, ShapeRenderer shapeRenderer, int playerHealth) {
-            // Draw health units
-            float healthWidth = (width - 40.0f) / max_health;
-            float healthHeight = height - 10.0f;
-
-            batch.end();
-            shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-            for (int i = 0; i < playerHealth; i++) {
-                if (lifeCountActive[i]) {
-                    shapeRenderer.setColor(Color.RED);
-                    shapeRenderer.rect(
-                        position.x + 10.0f + (i * healthWidth) + (i * 5.0f),
-                        position.y + 20.0f,
-                        healthWidth,
-                        healthHeight - height / 2
-                    );
-                }
-            }
-
-            shapeRenderer.end();
-            batch.begin();
-
-            // Draw health bar background
-            batch.draw(
-                healthbarTexture,
-                position.x,
-                position.y,
-                width,
-                height
-            );
-        }
-
-        public void dispose() {
-            healthbarTexture.dispose();
-        }
-    }
 }
@@ -0,0 +1,195 @@
+package com.spacemonkey.game.Model;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform-grid broadphase for circles. Each entry is bucketed by its centre into a fixed grid
+ * covering the world plus a padding band; queries only visit the buckets a circle can reach.
+ * All storage is allocated up front, so {@link #clear()}, {@link #insert} and the queries
+ * never allocate.
+ */
+public class SpatialHash {
+    public interface PairListener {
+        void onPair(int idA, int idB);
+    }
+
+    private final float originX;
+    private final float originY;
+    private final float invCellSize;
+    private final int columns;
+    private final int rows;
+    private final int capacity;
+
+    private final int[] cellHead;
+    private final int[] next;
+    private final int[] ids;
+    private final float[] x;
+    private final float[] y;
+    private final float[] radius;
+    private int count;
+    private float maxRadius;
+
+    private long candidates;
+    private long hits;
+
+    public SpatialHash(float worldWidth, float worldHeight, float padding, float cellSize, int capacity) {
+        this.originX = -padding;
+        this.originY = -padding;
+        this.invCellSize = 1.0f / cellSize;
+        this.columns = Math.max(1, MathUtils.ceil((worldWidth + 2 * padding) / cellSize));
+        this.rows = Math.max(1, MathUtils.ceil((worldHeight + 2 * padding) / cellSize));
+        this.capacity = capacity;
+
+        this.cellHead = new int[columns * rows];
+        this.next = new int[capacity];
+        this.ids = new int[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.radius = new float[capacity];
+        clear();
+    }
+
+    public static boolean overlaps(float x1, float y1, float radius1, float x2, float y2, float radius2) {
+        float dx = x1 - x2;
+        float dy = y1 - y2;
+        float minDist = radius1 + radius2;
+        return dx * dx + dy * dy <= minDist * minDist;
+    }
+
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        count = 0;
+        maxRadius = 0.0f;
+    }
+
+    public void insert(int id, float x, float y, float radius) {
+        if (count >= capacity) {
+            throw new GdxRuntimeException("SpatialHash is full: " + capacity);
+        }
+        int e = count++;
+        this.ids[e] = id;
+        this.x[e] = x;
+        this.y[e] = y;
+        this.radius[e] = radius;
+        if (radius > maxRadius) {
+            maxRadius = radius;
+        }
+
+        int cell = cellRow(y) * columns + cellColumn(x);
+        next[e] = cellHead[cell];
+        cellHead[cell] = e;
+    }
+
+    /** Rebuilds the hash from every live asteroid in the field, using the asteroid index as id. */
+    public void insertAll(AsteroidField field) {
+        float[] fx = field.getX();
+        float[] fy = field.getY();
+        float[] diameter = field.getDiameter();
+        for (int i = 0, n = field.size(); i < n; i++) {
+            insert(i, fx[i], fy[i], diameter[i] / 2.0f);
+        }
+    }
+
+    /**
+     * Collects the ids of every entry overlapping the circle into {@code out} (which is cleared first).
+     * @return the number of overlapping entries.
+     */
+    public int queryCircle(float cx, float cy, float r, IntArray out) {
+        out.clear();
+        float reach = r + maxRadius;
+        int minColumn = cellColumn(cx - reach);
+        int maxColumn = cellColumn(cx + reach);
+        int minRow = cellRow(cy - reach);
+        int maxRow = cellRow(cy + reach);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                for (int e = cellHead[row * columns + column]; e != -1; e = next[e]) {
+                    candidates++;
+                    if (overlaps(cx, cy, r, x[e], y[e], radius[e])) {
+                        hits++;
+                        out.add(ids[e]);
+                    }
+                }
+            }
+        }
+        return out.size;
+    }
+
+    /**
+     * Reports every overlapping pair of entries exactly once.
+     * @return the number of overlapping pairs.
+     */
+    public int queryPairs(PairListener listener) {
+        int range = Math.max(1, MathUtils.ceil(2 * maxRadius * invCellSize));
+        int found = 0;
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                for (int a = cellHead[row * columns + column]; a != -1; a = next[a]) {
+                    // Later entries in the same bucket.
+                    for (int b = next[a]; b != -1; b = next[b]) {
+                        found += testPair(a, b, listener);
+                    }
+                    // Forward half of the neighbourhood, so each bucket pair is visited once.
+                    for (int dy = 0; dy <= range; dy++) {
+                        int otherRow = row + dy;
+                        if (otherRow >= rows) {
+                            break;
+                        }
+                        int startDx = dy == 0 ? 1 : -range;
+                        for (int dx = startDx; dx <= range; dx++) {
+                            int otherColumn = column + dx;
+                            if (otherColumn < 0 || otherColumn >= columns) {
+                                continue;
+                            }
+                            for (int b = cellHead[otherRow * columns + otherColumn]; b != -1; b = next[b]) {
+                                found += testPair(a, b, listener);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int testPair(int a, int b, PairListener listener) {
+        candidates++;
+        if (overlaps(x[a], y[a], radius[a], x[b], y[b], radius[b])) {
+            hits++;
+            listener.onPair(ids[a], ids[b]);
+            return 1;
+        }
+        return 0;
+    }
+
+    private int cellColumn(float px) {
+        return MathUtils.clamp((int) ((px - originX) * invCellSize), 0, columns - 1);
+    }
+
+    private int cellRow(float py) {
+        return MathUtils.clamp((int) ((py - originY) * invCellSize), 0, rows - 1);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long getCandidateCount() {
+        return candidates;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public void resetCounters() {
+        candidates = 0;
+        hits = 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.spacemonkey.game.Model;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.Random;
+
+/**
+ * Which archetype to spawn, by difficulty phase. Each phase starts once the session time is
+ * past its {@code after} value and has its own {@link AliasTable} over the values of {@code E}.
+ */
+public class SpawnTable<E extends Enum<E>> {
+    private final E[] values;
+    private final double[] phaseStart;
+    private final AliasTable[] phaseTables;
+
+    public SpawnTable(E[] values, double[] phaseStart, AliasTable[] phaseTables) {
+        if (phaseStart.length == 0 || phaseStart.length != phaseTables.length) {
+            throw new GdxRuntimeException("A spawn table needs one alias table per phase");
+        }
+        for (int i = 1; i < phaseStart.length; i++) {
+            if (phaseStart[i] <= phaseStart[i - 1]) {
+                throw new GdxRuntimeException("Spawn phases must be in increasing order of 'after'");
+            }
+        }
+        this.values = values;
+        this.phaseStart = phaseStart;
+        this.phaseTables = phaseTables;
+    }
+
+    public int getPhase(double timePass) {
+        for (int i = phaseStart.length - 1; i > 0; i--) {
+            if (timePass > phaseStart[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    public E sample(double timePass, Random random) {
+        return values[phaseTables[getPhase(timePass)].sample(random)];
+    }
+
+    public int getPhaseCount() {
+        return phaseStart.length;
+    }
+
+    /**
+     * Reads an array of {@code {"after": seconds, "weights": {"NAME": weight, ...}}} phases.
+     * Names are the constants of {@code type}; any left out get a weight of zero.
+     */
+    public static <E extends Enum<E>> SpawnTable<E> fromJson(JsonValue phases, Class<E> type) {
+        E[] values = type.getEnumConstants();
+        double[] phaseStart = new double[phases.size];
+        AliasTable[] phaseTables = new AliasTable[phases.size];
+
+        int phase = 0;
+        for (JsonValue entry = phases.child; entry != null; entry = entry.next, phase++) {
+            phaseStart[phase] = entry.getDouble("after", 0.0);
+
+            float[] weights = new float[values.length];
+            JsonValue weightMap = entry.get("weights");
+            if (weightMap == null) {
+                throw new GdxRuntimeException("Spawn phase " + phase + " of " + type.getSimpleName() + " has no weights");
+            }
+            for (JsonValue weight = weightMap.child; weight != null; weight = weight.next) {
+                try {
+                    weights[Enum.valueOf(type, weight.name).ordinal()] = weight.asFloat();
+                } catch (IllegalArgumentException e) {
+                    throw new GdxRuntimeException("Unknown " + type.getSimpleName() + " in spawn table: " + weight.name, e);
+                }
+            }
+            phaseTables[phase] = new AliasTable(weights);
+        }
+        return new SpawnTable<>(values, phaseStart, phaseTables);
+    }
+}
@@ -0,0 +1,47 @@
+package com.spacemonkey.game.Model;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+/** The asteroid and fruit spawn tables, compiled once from {@link #DEFAULT_FILE}. */
+public class SpawnTables {
+    public static final String DEFAULT_FILE = "data/spawn_phases.json";
+
+    private final SpawnTable<AsteroidType> asteroids;
+    private final SpawnTable<FruitType> fruits;
+
+    public SpawnTables(SpawnTable<AsteroidType> asteroids, SpawnTable<FruitType> fruits) {
+        this.asteroids = asteroids;
+        this.fruits = fruits;
+    }
+
+    public static SpawnTables load(FileHandle file) {
+        JsonValue root;
+        try {
+            root = new JsonReader().parse(file);
+        } catch (Exception e) {
+            throw new GdxRuntimeException("Couldn't read spawn tables: " + file, e);
+        }
+        return new SpawnTables(
+            SpawnTable.fromJson(require(root, "asteroids", file), AsteroidType.class),
+            SpawnTable.fromJson(require(root, "fruits", file), FruitType.class));
+    }
+
+    private static JsonValue require(JsonValue root, String name, FileHandle file) {
+        JsonValue value = root.get(name);
+        if (value == null || !value.isArray()) {
+            throw new GdxRuntimeException(file + " needs a '" + name + "' array of phases");
+        }
+        return value;
+    }
+
+    public SpawnTable<AsteroidType> getAsteroids() {
+        return asteroids;
+    }
+
+    public SpawnTable<FruitType> getFruits() {
+        return fruits;
+    }
+}
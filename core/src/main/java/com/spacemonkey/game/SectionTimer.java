@@ -0,0 +1,69 @@
+package com.spacemonkey.game;
+
+/**
+ * Accumulates CPU time per named section of a frame. Sections can run several times a frame
+ * (the simulation ticks a variable number of times), so {@link #endFrame()} sums them up and
+ * keeps a smoothed per-frame figure for display. While disabled, {@link #begin} and {@link #end}
+ * return straight away, so the calls can stay in the hot path.
+ */
+public class SectionTimer {
+    public static final int UPDATE_DASH = 0;
+    public static final int UPDATE_ASTEROIDS = 1;
+    public static final int UPDATE_FRUITS = 2;
+    public static final int DRAW_WORLD = 3;
+    public static final int DRAW_SHIP = 4;
+    public static final int DRAW_HUD = 5;
+    public static final int PARTICLES = 6;
+    public static final int SECTION_COUNT = 7;
+
+    private static final String[] NAMES = {
+        "dash", "asteroids", "fruits", "draw world", "draw ship", "draw hud", "particles"
+    };
+    private static final float SMOOTHING = 0.1f;
+
+    private final long[] started = new long[SECTION_COUNT];
+    private final long[] frameNanos = new long[SECTION_COUNT];
+    private final long[] lastFrameNanos = new long[SECTION_COUNT];
+    private final float[] smoothedNanos = new float[SECTION_COUNT];
+    private boolean enabled = false;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void begin(int section) {
+        if (enabled) {
+            started[section] = System.nanoTime();
+        }
+    }
+
+    public void end(int section) {
+        if (enabled) {
+            frameNanos[section] += System.nanoTime() - started[section];
+        }
+    }
+
+    public void endFrame() {
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            lastFrameNanos[i] = frameNanos[i];
+            smoothedNanos[i] += (frameNanos[i] - smoothedNanos[i]) * SMOOTHING;
+            frameNanos[i] = 0;
+        }
+    }
+
+    public long getLastFrameNanos(int section) {
+        return lastFrameNanos[section];
+    }
+
+    public float getSmoothedMillis(int section) {
+        return smoothedNanos[section] / 1_000_000.0f;
+    }
+
+    public static String getName(int section) {
+        return NAMES[section];
+    }
+}
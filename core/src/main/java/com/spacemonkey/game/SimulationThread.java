@@ -0,0 +1,156 @@
+package com.spacemonkey.game;
+
+import com.spacemonkey.game.Controller.InputCommand;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link World} on its own thread at a fixed tick rate, so simulation and rendering overlap
+ * instead of taking turns in one frame. After every tick the world is copied into a
+ * {@link WorldSnapshot} and published through a {@link TripleBuffer}; the render thread draws
+ * {@link #latest()} and never touches the world while the thread runs.
+ * <p>
+ * Input goes the other way through a bounded queue of {@link InputCommand} masks. Ticks with no new
+ * input keep the last held directions, and every edge is seen by exactly one tick. Events the
+ * world reports should go through a {@link WorldEventQueue}.
+ */
+public class SimulationThread implements Runnable {
+    /** Runs one tick of the world, with whatever input source is active. */
+    public interface Ticker {
+        /** @return 0 to keep going; anything else pauses the thread and becomes its {@link #getPauseReason()}. */
+        int tick(InputCommand input);
+    }
+
+    private static final int INPUT_QUEUE_SIZE = 64;
+    // Like MAX_FRAME_TIME for the inline loop: after a longer stall, the lost time is dropped.
+    private static final long MAX_CATCH_UP_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final World world;
+    private final Ticker ticker;
+    private final long stepNanos;
+    private final TripleBuffer<WorldSnapshot> snapshots;
+    // Masks 0..127 are boxed from Integer's cache, so forwarding input doesn't allocate.
+    private final ArrayBlockingQueue<Integer> inputs = new ArrayBlockingQueue<>(INPUT_QUEUE_SIZE);
+    private final InputCommand input = new InputCommand();
+    private final Thread thread;
+
+    private volatile boolean active = false;
+    private volatile boolean stopped = false;
+    private volatile int pauseReason = 0;
+    private volatile long tickNanos = 0L;
+
+    public SimulationThread(World world, int maxAsteroids, float step, Ticker ticker) {
+        this.world = world;
+        this.ticker = ticker;
+        this.stepNanos = (long)(step * 1_000_000_000.0);
+        this.snapshots = new TripleBuffer<>(
+            new WorldSnapshot(maxAsteroids), new WorldSnapshot(maxAsteroids), new WorldSnapshot(maxAsteroids));
+        // The renderer has something to draw before the first tick.
+        publish();
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+    }
+
+    /** Starts the thread, ticking right away if {@code active}, otherwise waiting for {@link #resume()}. */
+    public void start(boolean active) {
+        this.active = active;
+        thread.start();
+    }
+
+    /**
+     * Ticks again after a pause. Input offered in the frame that saw the pause is dropped, so
+     * nothing from the old session reaches the new one.
+     */
+    public void resume() {
+        // A paused simulation thread doesn't touch the queue again until active is set below.
+        inputs.clear();
+        pauseReason = 0;
+        active = true;
+        LockSupport.unpark(thread);
+    }
+
+    /** False once a tick has paused the thread; {@link #getPauseReason()} then says why. */
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getPauseReason() {
+        return pauseReason;
+    }
+
+    /**
+     * Forwards the render thread's current input. Returns false if the queue is full, in which
+     * case the caller should keep its edges latched and offer them again next frame.
+     */
+    public boolean offerInput(InputCommand command) {
+        return inputs.offer(command.toMask());
+    }
+
+    /** The newest snapshot; it stays valid until the next call. Render thread only. */
+    public WorldSnapshot latest() {
+        return snapshots.front();
+    }
+
+    /** How long the most recent tick took, snapshot included. */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+
+    /** Stops the thread and waits for it, after which the world may be read directly again. */
+    public void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        while (!stopped) {
+            if (!active) {
+                LockSupport.park(this);
+                next = System.nanoTime();
+                continue;
+            }
+            long now = System.nanoTime();
+            if (now < next) {
+                LockSupport.parkNanos(this, next - now);
+                continue;
+            }
+            if (now - next > MAX_CATCH_UP_NANOS) {
+                next = now;
+            }
+            next += stepNanos;
+
+            Integer mask;
+            while ((mask = inputs.poll()) != null) {
+                input.merge(mask);
+            }
+            int result = ticker.tick(input);
+            publish();
+            tickNanos = System.nanoTime() - now;
+
+            if (result != 0) {
+                input.clear();
+                inputs.clear();
+                pauseReason = result;
+                active = false;
+            }
+        }
+    }
+
+    private void publish() {
+        snapshots.back().copyFrom(world);
+        snapshots.publish();
+    }
+}
@@ -4,11 +4,26 @@ import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 
 public class SpaceMonkeyGame extends ApplicationAdapter {
+    private final LaunchOptions options;
+    private final Metrics metrics;
     private Game game;
 
+    public SpaceMonkeyGame() {
+        this(new LaunchOptions());
+    }
+
+    public SpaceMonkeyGame(LaunchOptions options) {
+        this(options, Metrics.NONE);
+    }
+
+    public SpaceMonkeyGame(LaunchOptions options, Metrics metrics) {
+        this.options = options;
+        this.metrics = metrics;
+    }
+
     @Override
     public void create() {
-        game = new Game();
+        game = new Game(options, metrics);
         game.create();
     }
 
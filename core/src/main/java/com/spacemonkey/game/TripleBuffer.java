@@ -0,0 +1,45 @@
+package com.spacemonkey.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the newest of a stream of values from one writer thread to one reader thread without
+ * locks or waiting. The writer fills {@link #back()} and publishes it; the reader takes
+ * {@link #front()}, which is the most recently published buffer. A third buffer sits in between,
+ * so neither side ever touches the buffer the other one holds, and a writer that laps the reader
+ * just replaces the waiting buffer.
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4;
+
+    private final Object[] buffers;
+    // The buffer in between, plus FRESH while it holds something the reader hasn't taken.
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    public TripleBuffer(T first, T second, T third) {
+        buffers = new Object[] {first, second, third};
+    }
+
+    /** The buffer the writer fills next. Writer thread only. */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T)buffers[back];
+    }
+
+    /** Makes the back buffer the newest and gives the writer another. Writer thread only. */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /** The newest published buffer; it stays the reader's until the next call. Reader thread only. */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return (T)buffers[front];
+    }
+}
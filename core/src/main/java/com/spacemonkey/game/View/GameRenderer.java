@@ -1,48 +1,103 @@
 package com.spacemonkey.game.View;
 
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-
-import com.badlogic.gdx.utils.viewport.Viewport;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 
 
 public class GameRenderer {
     private SpriteBatch batch;
 
+    // The camera's visible area, and this frame's cull results.
+    private float viewLeft;
+    private float viewRight;
+    private float viewBottom;
+    private float viewTop;
+    private int drawn;
+    private int culled;
+
 
     public GameRenderer( SpriteBatch batch) {
 
         this.batch = batch;
     }
 
+    /**
+     * Takes the visible area from {@code camera} and resets the cull counters. Call once a frame,
+     * after the camera is updated.
+     */
+    public void setView(OrthographicCamera camera) {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        viewLeft = camera.position.x - halfWidth;
+        viewRight = camera.position.x + halfWidth;
+        viewBottom = camera.position.y - halfHeight;
+        viewTop = camera.position.y + halfHeight;
+        drawn = 0;
+        culled = 0;
+    }
+
+    /**
+     * Whether anything inside the circle at ({@code x}, {@code y}) can be on screen, counting it as
+     * drawn or culled. Use a radius that covers the sprite at any rotation.
+     */
+    public boolean isVisible(float x, float y, float radius) {
+        if (x + radius < viewLeft || x - radius > viewRight || y + radius < viewBottom || y - radius > viewTop) {
+            culled++;
+            return false;
+        }
+        drawn++;
+        return true;
+    }
+
+    public int getDrawn() {
+        return drawn;
+    }
+
+    public int getCulled() {
+        return culled;
+    }
+
     public void render(Texture texture, float x, float y, float width, float height) {
 
         batch.draw(texture, x, y, width, height);
 
     }
 
-    public void renderAdvance(Texture texture, float x, float y,float size, float rotation) {
+    public void render(TextureRegion region, float x, float y, float width, float height) {
+
+        batch.draw(region, x, y, width, height);
+
+    }
+
+    public void renderAdvance(TextureRegion region, float x, float y,float size, float rotation) {
 
         batch.draw(
-            texture,
+            region,
             x,
             y,
             size/2, size/2,
             size, size,
             1, 1,
-            rotation,
-            0, 0,
-            texture.getWidth(),
-            texture.getHeight(),
-            false, false
+            rotation
         );
 
     }
 
 
+    /** Draws the queued asteroids in one call, ending the batch around it. */
+    public void renderInstances(InstancedAsteroidRenderer instances) {
+
+        batch.end();
+        instances.draw(batch.getProjectionMatrix());
+        batch.begin();
+
+    }
+
+
     public void dispose() {
         batch.dispose();
     }
 }
-
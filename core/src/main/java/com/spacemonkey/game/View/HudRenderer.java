@@ -0,0 +1,131 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Draws HUD shapes and text through the game's {@link SpriteBatch}. Shapes are stretched from a
+ * white pixel in the game atlas and the font's glyph page is packed into the same atlas, so the
+ * whole HUD shares one texture with the sprites and never forces a flush.
+ */
+public class HudRenderer {
+    public static final String FONT_FILE = "fonts/lsans-15.fnt";
+    private static final int DEFAULT_CIRCLE_SEGMENTS = 24;
+    // Four vertices of position, packed colour and UV, as SpriteBatch expects.
+    private static final int QUAD_SIZE = 4 * 5;
+
+    private final SpriteBatch batch;
+    private final TextureRegistry textures;
+    private final TextureRegion white;
+    private final BitmapFont font;
+    private final GlyphLayout layout = new GlyphLayout();
+    private final float[] vertices = new float[QUAD_SIZE];
+
+    private final float u;
+    private final float v;
+
+    public HudRenderer(SpriteBatch batch, TextureRegistry textures) {
+        this.batch = batch;
+        this.textures = textures;
+
+        TextureAtlas atlas = textures.acquireAtlas(TextureRegistry.GAME_ATLAS);
+        // Sample the centre of the white region so filtering never picks up a neighbour's edge.
+        white = TextureRegistry.findRegion(atlas, "white");
+        u = (white.getU() + white.getU2()) / 2.0f;
+        v = (white.getV() + white.getV2()) / 2.0f;
+
+        // The glyph page is the atlas region named after the font's page file.
+        font = textures.acquireFont(FONT_FILE, TextureRegistry.GAME_ATLAS);
+        font.getData().setScale(1.5f);
+    }
+
+    public BitmapFont getFont() {
+        return font;
+    }
+
+    public void rect(float x, float y, float width, float height, float r, float g, float b, float a) {
+        float color = Color.toFloatBits(r, g, b, a);
+        quad(x, y, color, x, y + height, color, x + width, y + height, color, x + width, y, color);
+    }
+
+    public void rect(float x, float y, float width, float height, Color color) {
+        rect(x, y, width, height, color.r, color.g, color.b, color.a);
+    }
+
+    /** Same corner order as {@code ShapeRenderer.rect}: bottom-left, bottom-right, top-right, top-left. */
+    public void gradientRect(float x, float y, float width, float height,
+                             Color bottomLeft, Color bottomRight, Color topRight, Color topLeft) {
+        quad(x, y, bottomLeft.toFloatBits(),
+            x, y + height, topLeft.toFloatBits(),
+            x + width, y + height, topRight.toFloatBits(),
+            x + width, y, bottomRight.toFloatBits());
+    }
+
+    public void circle(float x, float y, float radius, float r, float g, float b, float a) {
+        circle(x, y, radius, DEFAULT_CIRCLE_SEGMENTS, r, g, b, a);
+    }
+
+    public void circle(float x, float y, float radius, int segments, float r, float g, float b, float a) {
+        float color = Color.toFloatBits(r, g, b, a);
+        float step = MathUtils.PI2 / segments;
+        // SpriteBatch draws quads as the triangles (0,1,2) and (2,3,0); with the centre as
+        // vertex 0 each quad covers two consecutive slices of the fan.
+        for (int i = 0; i < segments; i += 2) {
+            float x1 = x + radius * MathUtils.cos(i * step);
+            float y1 = y + radius * MathUtils.sin(i * step);
+            float x2 = x + radius * MathUtils.cos((i + 1) * step);
+            float y2 = y + radius * MathUtils.sin((i + 1) * step);
+            int last = Math.min(i + 2, segments);
+            float x3 = x + radius * MathUtils.cos(last * step);
+            float y3 = y + radius * MathUtils.sin(last * step);
+            quad(x, y, color, x1, y1, color, x2, y2, color, x3, y3, color);
+        }
+    }
+
+    /** Lays out {@code text} with the HUD font. The returned layout is reused by the next call. */
+    public GlyphLayout layout(CharSequence text) {
+        layout.setText(font, text);
+        return layout;
+    }
+
+    public void text(CharSequence text, float x, float y, float r, float g, float b, float a) {
+        font.setColor(r, g, b, a);
+        font.draw(batch, text, x, y);
+    }
+
+    private void quad(float x1, float y1, float c1, float x2, float y2, float c2,
+                      float x3, float y3, float c3, float x4, float y4, float c4) {
+        float[] vertices = this.vertices;
+        vertices[0] = x1;
+        vertices[1] = y1;
+        vertices[2] = c1;
+        vertices[3] = u;
+        vertices[4] = v;
+        vertices[5] = x2;
+        vertices[6] = y2;
+        vertices[7] = c2;
+        vertices[8] = u;
+        vertices[9] = v;
+        vertices[10] = x3;
+        vertices[11] = y3;
+        vertices[12] = c3;
+        vertices[13] = u;
+        vertices[14] = v;
+        vertices[15] = x4;
+        vertices[16] = y4;
+        vertices[17] = c4;
+        vertices[18] = u;
+        vertices[19] = v;
+        batch.draw(white.getTexture(), vertices, 0, QUAD_SIZE);
+    }
+
+    public void dispose() {
+        textures.release(FONT_FILE);
+        textures.release(TextureRegistry.GAME_ATLAS);
+    }
+}
@@ -0,0 +1,133 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Draws every asteroid with one instanced call on GL 3 contexts. A single unit quad is shared;
+ * each asteroid adds five floats to an instance buffer (centre, diameter, rotation, atlas region)
+ * and the vertex shader rotates, scales and textures the quad. Compared with the SpriteBatch,
+ * which transforms four corners on the CPU and writes 20 floats per asteroid, the CPU only
+ * copies the interpolated state.
+ * <p>
+ * All regions must be on the same texture. Call {@link #add} for each asteroid and then
+ * {@link #draw}, outside SpriteBatch begin and end.
+ */
+public class InstancedAsteroidRenderer {
+    private static final int INSTANCE_SIZE = 5;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec2 a_position;\n"
+            + "attribute vec4 a_transform;\n"
+            + "attribute float a_region;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform vec4 u_regions[%d];\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    float c = cos(a_transform.w);\n"
+            + "    float s = sin(a_transform.w);\n"
+            + "    vec2 corner = a_position * a_transform.z;\n"
+            + "    vec2 world = a_transform.xy + vec2(corner.x * c - corner.y * s, corner.x * s + corner.y * c);\n"
+            + "    vec4 region = u_regions[int(a_region + 0.5)];\n"
+            + "    vec2 t = a_position + 0.5;\n"
+            // Regions store v at the top and v2 at the bottom.
+            + "    v_texCoords = vec2(mix(region.x, region.z, t.x), mix(region.w, region.y, t.y));\n"
+            + "    gl_Position = u_projTrans * vec4(world, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "    gl_FragColor = texture2D(u_texture, v_texCoords);\n"
+            + "}\n";
+
+    private final TextureRegion[] regions;
+    private final float[] regionCoords;
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final float[] instances;
+    private final int capacity;
+    private int count = 0;
+
+    /** Only call with {@code Gdx.gl30} available; see {@link #isSupported()}. */
+    public InstancedAsteroidRenderer(int capacity, TextureRegion[] regions) {
+        this.capacity = capacity;
+        this.regions = regions;
+        regionCoords = new float[regions.length * 4];
+        for (int i = 0; i < regions.length; i++) {
+            if (regions[i].getTexture() != regions[0].getTexture()) {
+                throw new GdxRuntimeException("Instanced asteroid regions must share a texture");
+            }
+            regionCoords[i * 4] = regions[i].getU();
+            regionCoords[i * 4 + 1] = regions[i].getV();
+            regionCoords[i * 4 + 2] = regions[i].getU2();
+            regionCoords[i * 4 + 3] = regions[i].getV2();
+        }
+        instances = new float[capacity * INSTANCE_SIZE];
+
+        mesh = new Mesh(true, 4, 6, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE));
+        mesh.setVertices(new float[] {-0.5f, -0.5f, 0.5f, -0.5f, 0.5f, 0.5f, -0.5f, 0.5f});
+        mesh.setIndices(new short[] {0, 1, 2, 2, 3, 0});
+        mesh.enableInstancedRendering(false, capacity,
+            new VertexAttribute(Usage.Generic, 4, "a_transform"),
+            new VertexAttribute(Usage.Generic, 1, "a_region"));
+
+        shader = new ShaderProgram(String.format(VERTEX_SHADER, regions.length), FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Couldn't compile the instanced asteroid shader: " + shader.getLog());
+        }
+    }
+
+    /** Instancing needs a GL 3 context; the desktop launcher asks for one with {@code --gl30}. */
+    public static boolean isSupported() {
+        return Gdx.gl30 != null;
+    }
+
+    /** Queues one asteroid; {@code rotation} is in radians. Beyond the capacity, asteroids are dropped. */
+    public void add(float x, float y, float diameter, float rotation, int region) {
+        if (count == capacity) {
+            return;
+        }
+        int i = count++ * INSTANCE_SIZE;
+        instances[i] = x;
+        instances[i + 1] = y;
+        instances[i + 2] = diameter;
+        instances[i + 3] = rotation;
+        instances[i + 4] = region;
+    }
+
+    /** Draws and clears the queued asteroids with the SpriteBatch's blending. */
+    public void draw(Matrix4 projection) {
+        if (count == 0) {
+            return;
+        }
+        mesh.setInstanceData(instances, 0, count * INSTANCE_SIZE);
+        count = 0;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        regions[0].getTexture().bind(0);
+
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        shader.setUniform4fv("u_regions", regionCoords, 0, regionCoords.length);
+        mesh.render(shader, GL20.GL_TRIANGLES);
+    }
+
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+}
@@ -0,0 +1,48 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * A progress bar shown while the {@link TextureRegistry} loads. It needs no files of its own: its
+ * only texture is a white pixel made in memory, so it can be drawn on the very first frame.
+ */
+public class LoadingScreen {
+    private static final float BAR_WIDTH = 600.0f;
+    private static final float BAR_HEIGHT = 16.0f;
+    private static final float BORDER = 2.0f;
+
+    private final float x;
+    private final float y;
+    private final Texture white;
+
+    public LoadingScreen(float worldWidth, float worldHeight) {
+        x = (worldWidth - BAR_WIDTH) / 2.0f;
+        y = (worldHeight - BAR_HEIGHT) / 2.0f;
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        white = new Texture(pixmap);
+        pixmap.dispose();
+    }
+
+    /** Draws the bar with its own begin/end; {@code progress} is from 0 to 1. */
+    public void draw(SpriteBatch batch, float progress) {
+        batch.begin();
+        batch.setColor(0.3f, 0.3f, 0.5f, 1.0f);
+        batch.draw(white, x - BORDER, y - BORDER, BAR_WIDTH + 2 * BORDER, BAR_HEIGHT + 2 * BORDER);
+        batch.setColor(0.1f, 0.1f, 0.15f, 1.0f);
+        batch.draw(white, x, y, BAR_WIDTH, BAR_HEIGHT);
+        batch.setColor(0.2f, 0.9f, 0.3f, 1.0f);
+        batch.draw(white, x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+        batch.setColor(Color.WHITE);
+        batch.end();
+    }
+
+    public void dispose() {
+        white.dispose();
+    }
+}
@@ -0,0 +1,129 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Model.Fruit;
+import com.spacemonkey.game.Model.Ship;
+import com.spacemonkey.game.WorldListener;
+import com.spacemonkey.game.WorldView;
+
+/**
+ * The game's particle emitters: a burst when a dash starts and ends, a trail while it lasts,
+ * sparks when an asteroid hits the ship and a puff in the fruit's colour on a pickup. Events come
+ * from the {@code World} through {@link WorldListener}; the trail is emitted per frame.
+ * <p>
+ * The effects have their own random generator, so they never draw from the simulation's.
+ */
+public class ParticleEffects implements WorldListener {
+    private static final int DASH_START_PARTICLES = 240;
+    private static final int DASH_END_PARTICLES = 160;
+    private static final float DASH_TRAIL_RATE = 2400.0f;
+    private static final int HIT_PARTICLES = 600;
+    private static final int FRUIT_PARTICLES = 200;
+
+    private static final float DASH_COLOR = new Color(0.8f, 0.8f, 1.0f, 0.9f).toFloatBits();
+    private static final float DASH_BURST_COLOR = new Color(1.0f, 1.0f, 1.0f, 0.6f).toFloatBits();
+    private static final float HIT_COLOR = new Color(1.0f, 0.5f, 0.15f, 1.0f).toFloatBits();
+    private static final float HIT_CORE_COLOR = new Color(1.0f, 0.9f, 0.6f, 1.0f).toFloatBits();
+    private static final float GRAPE_COLOR = new Color(0.7f, 0.3f, 1.0f, 0.9f).toFloatBits();
+    private static final float BANANA_COLOR = new Color(1.0f, 0.9f, 0.2f, 0.9f).toFloatBits();
+
+    private final ParticleSystem particles;
+    private final RandomXS128 random = new RandomXS128();
+    private float trailDebt = 0.0f;
+
+    public ParticleEffects(int capacity) {
+        this.particles = new ParticleSystem(capacity);
+    }
+
+    @Override
+    public void dashStarted(float x, float y, float directionX, float directionY) {
+        burst(x, y, DASH_START_PARTICLES, 60.0f, 260.0f, 0.25f, 0.5f, 6.0f, 14.0f, DASH_BURST_COLOR);
+    }
+
+    @Override
+    public void dashEnded(float x, float y) {
+        burst(x, y, DASH_END_PARTICLES, 40.0f, 180.0f, 0.2f, 0.4f, 4.0f, 10.0f, DASH_COLOR);
+    }
+
+    @Override
+    public void shipHit(float x, float y) {
+        burst(x, y, HIT_PARTICLES, 100.0f, 520.0f, 0.3f, 0.9f, 3.0f, 9.0f, HIT_COLOR);
+        burst(x, y, HIT_PARTICLES / 4, 20.0f, 160.0f, 0.2f, 0.4f, 8.0f, 16.0f, HIT_CORE_COLOR);
+    }
+
+    @Override
+    public void fruitCollected(float x, float y, int type) {
+        float color = type == Fruit.TYPE_BANANA ? BANANA_COLOR : GRAPE_COLOR;
+        burst(x, y, FRUIT_PARTICLES, 30.0f, 220.0f, 0.3f, 0.7f, 4.0f, 10.0f, color);
+    }
+
+    /** Emits the dash trail behind {@code world}'s ship and advances every particle; call once per frame. */
+    public void update(float delta, WorldView world) {
+        Ship ship = world.getShip();
+        Controller controller = world.getController();
+        if (controller.isDashing()) {
+            trailDebt += DASH_TRAIL_RATE * delta;
+            Vector2 position = ship.getPosition();
+            Vector2 direction = controller.getDashDirection();
+            float spread = ship.getWidth() * 0.3f;
+            for (; trailDebt >= 1.0f; trailDebt -= 1.0f) {
+                float speed = random(20.0f, 90.0f);
+                particles.emit(
+                    position.x + random(-spread, spread),
+                    position.y + random(-spread, spread),
+                    -direction.x * speed + random(-20.0f, 20.0f),
+                    -direction.y * speed + random(-20.0f, 20.0f),
+                    random(0.2f, 0.45f), random(6.0f, 16.0f), DASH_COLOR);
+            }
+        } else {
+            trailDebt = 0.0f;
+        }
+        particles.update(delta);
+    }
+
+    private void burst(float x, float y, int count, float minSpeed, float maxSpeed,
+                       float minLife, float maxLife, float minSize, float maxSize, float color) {
+        for (int i = 0; i < count; i++) {
+            float angle = random.nextFloat() * MathUtils.PI2;
+            float speed = random(minSpeed, maxSpeed);
+            particles.emit(x, y,
+                MathUtils.cos(angle) * speed, MathUtils.sin(angle) * speed,
+                random(minLife, maxLife), random(minSize, maxSize), color);
+        }
+    }
+
+    private float random(float min, float max) {
+        return min + random.nextFloat() * (max - min);
+    }
+
+    /** The batch must not be between begin and end. */
+    public void draw(Matrix4 projection) {
+        particles.draw(projection);
+    }
+
+    public boolean isEmpty() {
+        return particles.size() == 0;
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    public void setPixelsPerUnit(float pixelsPerUnit) {
+        particles.setPixelsPerUnit(pixelsPerUnit);
+    }
+
+    public void clear() {
+        particles.clear();
+        trailDebt = 0.0f;
+    }
+
+    public void dispose() {
+        particles.dispose();
+    }
+}
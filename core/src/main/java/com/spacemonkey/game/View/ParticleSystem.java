@@ -0,0 +1,198 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A fixed pool of short-lived, glowing particles. Every field lives in its own preallocated array
+ * indexed by particle, live particles are packed at the front, and a dead one is swapped with the
+ * last, so emitting, updating and drawing never allocate.
+ * <p>
+ * All live particles are drawn as one {@code GL_POINTS} mesh with additive blending: one vertex
+ * per particle, sized and faded in the shader. The SpriteBatch must not be between begin and end.
+ * When the pool is full, new particles are dropped.
+ */
+public class ParticleSystem {
+    // Per vertex: position (2), packed colour (1), size in world units (1), remaining life 1..0 (1).
+    private static final int VERTEX_SIZE = 5;
+    private static final float DRAG = 2.5f;
+    // GL_POINT_SPRITE; only needed, and only valid, on desktop compatibility contexts.
+    private static final int GL_POINT_SPRITE = 0x8861;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec2 a_position;\n"
+            + "attribute vec4 a_color;\n"
+            + "attribute float a_size;\n"
+            + "attribute float a_life;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform float u_pixelsPerUnit;\n"
+            + "varying vec4 v_color;\n"
+            + "void main() {\n"
+            + "    v_color = vec4(a_color.rgb, a_color.a * a_life);\n"
+            + "    gl_PointSize = a_size * u_pixelsPerUnit * (0.4 + 0.6 * a_life);\n"
+            + "    gl_Position = u_projTrans * vec4(a_position, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "void main() {\n"
+            + "    float d = length(gl_PointCoord - vec2(0.5));\n"
+            + "    gl_FragColor = vec4(v_color.rgb, v_color.a * (1.0 - smoothstep(0.2, 0.5, d)));\n"
+            + "}\n";
+
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] age;
+    private final float[] lifetime;
+    private final float[] size;
+    private final float[] color;
+    private int count = 0;
+
+    private final float[] vertices;
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private float pixelsPerUnit = 1.0f;
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        age = new float[capacity];
+        lifetime = new float[capacity];
+        size = new float[capacity];
+        color = new float[capacity];
+        vertices = new float[capacity * VERTEX_SIZE];
+
+        mesh = new Mesh(false, capacity, 0,
+            new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+            new VertexAttribute(Usage.Generic, 1, "a_size"),
+            new VertexAttribute(Usage.Generic, 1, "a_life"));
+
+        // gl_PointCoord needs GLSL 1.20 on desktop; GLSL ES 1.00 has it already. GL 3 contexts get
+        // their version line from ShaderProgram.prependVertexCode, set by the launcher.
+        String version = Gdx.app.getType() == Application.ApplicationType.Desktop && Gdx.gl30 == null
+            ? "#version 120\n" : "";
+        shader = new ShaderProgram(version + VERTEX_SHADER, version + FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new GdxRuntimeException("Couldn't compile the particle shader: " + shader.getLog());
+        }
+    }
+
+    /**
+     * Adds one particle, or drops it if the pool is full. {@code color} is packed as by
+     * {@code Color.toFloatBits}; {@code size} is the diameter in world units at full life.
+     */
+    public void emit(float x, float y, float velocityX, float velocityY, float lifetime, float size, float color) {
+        if (count == capacity) {
+            return;
+        }
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.velocityX[i] = velocityX;
+        this.velocityY[i] = velocityY;
+        this.age[i] = 0.0f;
+        this.lifetime[i] = lifetime;
+        this.size[i] = size;
+        this.color[i] = color;
+    }
+
+    /** Ages and moves every particle by {@code delta} seconds and drops the expired ones. */
+    public void update(float delta) {
+        float drag = Math.max(0.0f, 1.0f - DRAG * delta);
+        int i = 0;
+        while (i < count) {
+            age[i] += delta;
+            if (age[i] >= lifetime[i]) {
+                remove(i);
+                continue;
+            }
+            velocityX[i] *= drag;
+            velocityY[i] *= drag;
+            x[i] += velocityX[i] * delta;
+            y[i] += velocityY[i] * delta;
+            i++;
+        }
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        age[i] = age[last];
+        lifetime[i] = lifetime[last];
+        size[i] = size[last];
+        color[i] = color[last];
+    }
+
+    /** Draws every live particle in one call. Leaves blending on with the SpriteBatch's function. */
+    public void draw(Matrix4 projection) {
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0, v = 0; i < count; i++) {
+            vertices[v++] = x[i];
+            vertices[v++] = y[i];
+            vertices[v++] = color[i];
+            vertices[v++] = size[i];
+            vertices[v++] = 1.0f - age[i] / lifetime[i];
+        }
+        mesh.setVertices(vertices, 0, count * VERTEX_SIZE);
+
+        if (Gdx.app.getType() == Application.ApplicationType.Desktop) {
+            Gdx.gl.glEnable(GL20.GL_VERTEX_PROGRAM_POINT_SIZE);
+            if (Gdx.gl30 == null) {
+                Gdx.gl.glEnable(GL_POINT_SPRITE);
+            }
+        }
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformf("u_pixelsPerUnit", pixelsPerUnit);
+        mesh.render(shader, GL20.GL_POINTS, 0, count);
+
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    /** Point sizes are in pixels, so this must follow the viewport, like the retained layers. */
+    public void setPixelsPerUnit(float pixelsPerUnit) {
+        this.pixelsPerUnit = pixelsPerUnit;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+}
@@ -0,0 +1,216 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.spacemonkey.game.FrameTimeHistory;
+import com.spacemonkey.game.SectionTimer;
+import com.spacemonkey.game.WorldView;
+
+/**
+ * A debug overlay with a frame-time graph and percentiles, CPU time per section, GL counters and
+ * entity, cull and particle counts. It draws through the {@link HudRenderer}, so it shares the frame's atlas
+ * texture, and it formats its text into one reused builder so that it doesn't allocate.
+ * <p>
+ * The GL counters are for the previous frame, overlay included. The section times are CPU
+ * submission times and don't include the GPU.
+ */
+public class PerfOverlay {
+    private static final int HISTORY = 240;
+    private static final float X = 950.0f;
+    private static final float TOP = 710.0f;
+    private static final float WIDTH = 320.0f;
+    private static final float GRAPH_HEIGHT = 80.0f;
+    private static final float GRAPH_MAX_MILLIS = 40.0f;
+    private static final float LINE_HEIGHT = 18.0f;
+    private static final int TEXT_LINES = 9;
+    private static final float FONT_SCALE = 1.0f;
+    private static final float TARGET_MILLIS = 1000.0f / 60.0f;
+
+    private final HudRenderer hud;
+    private final SectionTimer sections;
+    private final ParticleSystem particles;
+    private final GLProfiler profiler;
+    private final FrameTimeHistory frameTimes = new FrameTimeHistory(HISTORY);
+    private final FrameTimeHistory cpuTimes = new FrameTimeHistory(HISTORY);
+    private final StringBuilder line = new StringBuilder(96);
+
+    private boolean visible = false;
+    private long frameStart;
+    private int drawCalls;
+    private int textureBindings;
+    private int shaderSwitches;
+    private int glCalls;
+
+    public PerfOverlay(HudRenderer hud, SectionTimer sections, ParticleSystem particles) {
+        this.hud = hud;
+        this.sections = sections;
+        this.particles = particles;
+        this.profiler = new GLProfiler(Gdx.graphics);
+    }
+
+    public void toggle() {
+        visible = !visible;
+        sections.setEnabled(visible);
+        if (visible) {
+            frameTimes.clear();
+            cpuTimes.clear();
+            profiler.reset();
+            profiler.enable();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /** Call first thing in the frame: it picks up last frame's GL counters and starts the CPU clock. */
+    public void beginFrame() {
+        if (!visible) {
+            return;
+        }
+        drawCalls = profiler.getDrawCalls();
+        textureBindings = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+        glCalls = profiler.getCalls();
+        profiler.reset();
+        frameStart = System.nanoTime();
+    }
+
+    /** Call after the game has drawn and before {@link #draw}, so the overlay isn't in its own CPU time. */
+    public void endFrame(float delta) {
+        if (!visible) {
+            return;
+        }
+        cpuTimes.add((System.nanoTime() - frameStart) / 1_000_000.0f);
+        frameTimes.add(delta * 1000.0f);
+        sections.endFrame();
+    }
+
+    /** Draws the overlay; the batch must have begun. */
+    public void draw(WorldView world, GameRenderer renderer) {
+        if (!visible) {
+            return;
+        }
+        float height = GRAPH_HEIGHT + TEXT_LINES * LINE_HEIGHT + 20.0f;
+        float bottom = TOP - height;
+        hud.rect(X, bottom, WIDTH, height, 0.0f, 0.0f, 0.0f, 0.75f);
+        drawGraph(X + 10.0f, TOP - GRAPH_HEIGHT - 5.0f);
+
+        float previousScale = hud.getFont().getData().scaleX;
+        hud.getFont().getData().setScale(FONT_SCALE);
+
+        float x = X + 10.0f;
+        float y = TOP - GRAPH_HEIGHT - 12.0f;
+
+        float average = frameTimes.average();
+        line.setLength(0);
+        line.append("FPS ");
+        appendFixed(line, average > 0.0f ? 1000.0f / average : 0.0f, 0);
+        line.append("   frame ");
+        appendFixed(line, average, 2);
+        line.append(" ms   cpu ");
+        appendFixed(line, cpuTimes.average(), 2);
+        line.append(" ms");
+        y = text(x, y);
+
+        line.setLength(0);
+        line.append("p50 ");
+        appendFixed(line, frameTimes.percentile(0.5f), 1);
+        line.append("  p95 ");
+        appendFixed(line, frameTimes.percentile(0.95f), 1);
+        line.append("  p99 ");
+        appendFixed(line, frameTimes.percentile(0.99f), 1);
+        line.append("  max ");
+        appendFixed(line, frameTimes.percentile(1.0f), 1);
+        y = text(x, y);
+
+        for (int i = 0; i < SectionTimer.SECTION_COUNT; i += 2) {
+            line.setLength(0);
+            appendSection(i);
+            if (i + 1 < SectionTimer.SECTION_COUNT) {
+                line.append("   ");
+                appendSection(i + 1);
+            }
+            y = text(x, y);
+        }
+
+        line.setLength(0);
+        line.append("draw calls ").append(drawCalls)
+            .append("  binds ").append(textureBindings)
+            .append("  shaders ").append(shaderSwitches)
+            .append("  gl ").append(glCalls);
+        y = text(x, y);
+
+        line.setLength(0);
+        line.append("asteroids ").append(world.getAsteroids().size()).append('/').append(world.getAsteroids().capacity())
+            .append("  fruits ").append(world.getFruits().size)
+            .append("  pool ").append(world.getFruitPoolFree()).append(" free ")
+            .append(world.getFruitPoolMisses()).append(" miss");
+        y = text(x, y);
+
+        line.setLength(0);
+        line.append("drawn ").append(renderer.getDrawn())
+            .append("  culled ").append(renderer.getCulled())
+            .append("  particles ").append(particles.size()).append('/').append(particles.capacity());
+        text(x, y);
+
+        hud.getFont().getData().setScale(previousScale);
+    }
+
+    private void drawGraph(float x, float y) {
+        float scale = GRAPH_HEIGHT / GRAPH_MAX_MILLIS;
+        // Newest frame on the right.
+        for (int age = 0, n = frameTimes.size(); age < n; age++) {
+            float millis = frameTimes.get(age);
+            float barHeight = Math.min(millis, GRAPH_MAX_MILLIS) * scale;
+            float barX = x + (HISTORY - 1 - age) * ((WIDTH - 20.0f) / HISTORY);
+            if (millis <= TARGET_MILLIS * 1.05f) {
+                hud.rect(barX, y, 1.0f, barHeight, 0.2f, 0.9f, 0.3f, 0.9f);
+            } else if (millis <= TARGET_MILLIS * 2.0f) {
+                hud.rect(barX, y, 1.0f, barHeight, 1.0f, 0.8f, 0.1f, 0.9f);
+            } else {
+                hud.rect(barX, y, 1.0f, barHeight, 1.0f, 0.2f, 0.2f, 0.9f);
+            }
+        }
+        hud.rect(x, y + TARGET_MILLIS * scale, WIDTH - 20.0f, 1.0f, 1.0f, 1.0f, 1.0f, 0.5f);
+    }
+
+    private void appendSection(int section) {
+        line.append(SectionTimer.getName(section)).append(' ');
+        appendFixed(line, sections.getSmoothedMillis(section), 3);
+    }
+
+    private float text(float x, float y) {
+        hud.text(line, x, y, 1.0f, 1.0f, 1.0f, 1.0f);
+        return y - LINE_HEIGHT;
+    }
+
+    /** Appends {@code value} rounded to {@code decimals} places without going through Float.toString. */
+    private static void appendFixed(StringBuilder out, float value, int decimals) {
+        if (value < 0.0f) {
+            out.append('-');
+            value = -value;
+        }
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(value * scale);
+        out.append(scaled / scale);
+        if (decimals > 0) {
+            out.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                out.append((char)('0' + (fraction / digit) % 10));
+            }
+        }
+    }
+
+    public void dispose() {
+        if (visible) {
+            profiler.disable();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Texture data in the {@code .rtex} format written by the {@code cacheTextures} Gradle task: the
+ * bytes {@code RTEX}, then version, width and height as big-endian ints, then RGBA8888 pixels in
+ * rows from top to bottom, straight (not premultiplied) alpha, exactly as a decoded Pixmap holds them.
+ * <p>
+ * {@link #prepare()} memory-maps the file when it is on disk and falls back to reading it into a
+ * direct buffer when it is inside a jar. Either way nothing is inflated or decoded, and the upload
+ * is a single {@code glTexImage2D} from the file's bytes.
+ */
+public class RawTextureData implements TextureData {
+    public static final String EXTENSION = ".rtex";
+    public static final int MAGIC = 0x52544558;
+    public static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final FileHandle file;
+    private ByteBuffer pixels;
+    private int width;
+    private int height;
+    private boolean prepared = false;
+
+    public RawTextureData(FileHandle file) {
+        this.file = file;
+    }
+
+    @Override
+    public TextureDataType getType() {
+        return TextureDataType.Custom;
+    }
+
+    @Override
+    public boolean isPrepared() {
+        return prepared;
+    }
+
+    /** Maps or reads the file and checks its header. Safe to call off the GL thread. */
+    @Override
+    public void prepare() {
+        if (prepared) {
+            throw new GdxRuntimeException("Already prepared: " + file);
+        }
+        ByteBuffer buffer;
+        if (file.file().exists()) {
+            buffer = file.map(FileChannel.MapMode.READ_ONLY);
+        } else {
+            byte[] bytes = file.readBytes();
+            buffer = BufferUtils.newByteBuffer(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+        }
+        // Both paths hand back native order; the header is big-endian.
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new GdxRuntimeException("Not a raw texture: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new GdxRuntimeException("Unsupported raw texture version " + buffer.getInt(4) + ": " + file);
+        }
+        width = buffer.getInt(8);
+        height = buffer.getInt(12);
+        if (width <= 0 || height <= 0 || buffer.remaining() != HEADER_SIZE + (long)width * height * 4) {
+            throw new GdxRuntimeException("Raw texture size doesn't match its header: " + file);
+        }
+
+        buffer.position(HEADER_SIZE);
+        pixels = buffer.slice();
+        prepared = true;
+    }
+
+    /** The pixel bytes between {@link #prepare()} and the upload; null otherwise. */
+    public ByteBuffer getPixels() {
+        return pixels;
+    }
+
+    @Override
+    public void consumeCustomData(int target) {
+        if (!prepared) {
+            throw new GdxRuntimeException("Call prepare() before uploading: " + file);
+        }
+        Gdx.gl.glTexImage2D(target, 0, GL20.GL_RGBA, width, height, 0, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, pixels);
+        // Let the mapping go; a context reload prepares the file again.
+        pixels = null;
+        prepared = false;
+    }
+
+    @Override
+    public Pixmap consumePixmap() {
+        throw new GdxRuntimeException("Raw texture data is uploaded directly, not through a Pixmap");
+    }
+
+    @Override
+    public boolean disposePixmap() {
+        throw new GdxRuntimeException("Raw texture data is uploaded directly, not through a Pixmap");
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public Pixmap.Format getFormat() {
+        return Pixmap.Format.RGBA8888;
+    }
+
+    @Override
+    public boolean useMipMaps() {
+        return false;
+    }
+
+    @Override
+    public boolean isManaged() {
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * A static part of the screen, painted once into a {@link FrameBuffer} and then drawn as a single
+ * quad. It is only painted again after {@link #invalidate()} or when the pixel scale changes.
+ * The framebuffer holds premultiplied alpha, so translucent content blends the same as if it
+ * had been drawn directly.
+ */
+public class RetainedLayer {
+    public interface Painter {
+        /** Draws the layer in world coordinates. The batch has already begun. */
+        void paint(SpriteBatch batch);
+    }
+
+    private final float x;
+    private final float y;
+    private final float width;
+    private final float height;
+    private final Painter painter;
+
+    private final Matrix4 projection = new Matrix4();
+    private final Matrix4 savedProjection = new Matrix4();
+    private final Color savedColor = new Color();
+    private final TextureRegion region = new TextureRegion();
+    private FrameBuffer frameBuffer;
+    private float pixelsPerUnit = 1.0f;
+    private boolean dirty = true;
+    private int paintCount = 0;
+
+    public RetainedLayer(float x, float y, float width, float height, Painter painter) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.painter = painter;
+        projection.setToOrtho2D(x, y, width, height);
+    }
+
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /** Matches the framebuffer resolution to the screen; call from {@code resize}. */
+    public void setPixelsPerUnit(float pixelsPerUnit) {
+        if (pixelsPerUnit != this.pixelsPerUnit) {
+            this.pixelsPerUnit = pixelsPerUnit;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Repaints the layer if it is dirty. Must be called outside {@code batch.begin()/end()}, and
+     * since binding the framebuffer resets the GL viewport the caller has to re-apply its own.
+     * Returns whether anything was painted.
+     */
+    public boolean update(SpriteBatch batch) {
+        if (!dirty) {
+            return false;
+        }
+
+        int pixelWidth = Math.round(width * pixelsPerUnit);
+        int pixelHeight = Math.round(height * pixelsPerUnit);
+        if (pixelWidth <= 0 || pixelHeight <= 0) {
+            // Minimised window; try again once it has a size.
+            return false;
+        }
+
+        if (frameBuffer == null || frameBuffer.getWidth() != pixelWidth || frameBuffer.getHeight() != pixelHeight) {
+            if (frameBuffer != null) {
+                frameBuffer.dispose();
+            }
+            frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, pixelWidth, pixelHeight, false);
+            frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            region.setRegion(frameBuffer.getColorBufferTexture());
+            // Framebuffer textures are stored bottom-up.
+            region.flip(false, true);
+        }
+
+        savedProjection.set(batch.getProjectionMatrix());
+        savedColor.set(batch.getColor());
+        int srcFunc = batch.getBlendSrcFunc();
+        int dstFunc = batch.getBlendDstFunc();
+        int srcFuncAlpha = batch.getBlendSrcFuncAlpha();
+        int dstFuncAlpha = batch.getBlendDstFuncAlpha();
+
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        batch.setProjectionMatrix(projection);
+        batch.setColor(Color.WHITE);
+        // Multiply colour by alpha on the way in but accumulate alpha normally, which leaves
+        // premultiplied pixels in the framebuffer.
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        painter.paint(batch);
+        batch.end();
+        batch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+
+        frameBuffer.end();
+
+        batch.setProjectionMatrix(savedProjection);
+        batch.setColor(savedColor);
+        dirty = false;
+        paintCount++;
+        return true;
+    }
+
+    /** Draws the cached layer at its world position. Must be called inside {@code batch.begin()/end()}. */
+    public void draw(SpriteBatch batch) {
+        if (frameBuffer == null) {
+            return;
+        }
+        int srcFunc = batch.getBlendSrcFunc();
+        int dstFunc = batch.getBlendDstFunc();
+        int srcFuncAlpha = batch.getBlendSrcFuncAlpha();
+        int dstFuncAlpha = batch.getBlendDstFuncAlpha();
+
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.draw(region, x, y, width, height);
+        batch.setBlendFunctionSeparate(srcFunc, dstFunc, srcFuncAlpha, dstFuncAlpha);
+    }
+
+    /** How many times the layer has been painted, for checking that it really is retained. */
+    public int getPaintCount() {
+        return paintCount;
+    }
+
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+        }
+    }
+}
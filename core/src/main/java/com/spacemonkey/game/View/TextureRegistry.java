@@ -0,0 +1,172 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Loads each texture, atlas or font file once and hands out the same instance to every caller.
+ * Every acquire must be paired with a {@link #release(String)}; the resource is unloaded
+ * when its last handle is released.
+ * <p>
+ * Loading goes through an {@link AssetManager}: files passed to {@code preload} are decoded on
+ * its background thread while {@link #update(int)} uploads finished ones to GL a slice at a time.
+ * Acquiring something that isn't loaded yet still works but blocks until it is.
+ * <p>
+ * With the texture cache on, a PNG or atlas that has a converted copy under {@link #CACHE_DIR}
+ * is loaded from that copy instead (see {@link RawTextureData}). Callers keep using the original
+ * paths.
+ */
+public class TextureRegistry implements Disposable {
+    /** Packed by the {@code packTextures} Gradle task from {@code assets/textures}. */
+    public static final String GAME_ATLAS = "atlas/game.atlas";
+    /** Written by the {@code cacheTextures} Gradle task, mirroring the paths under {@code assets}. */
+    public static final String CACHE_DIR = "cache/";
+
+    private final AssetManager assets;
+    private final boolean useCache;
+    private final ObjectMap<String, Entry> entries;
+
+    public TextureRegistry() {
+        this(false);
+    }
+
+    public TextureRegistry(boolean useCache) {
+        this(new AssetManager(), useCache);
+    }
+
+    public TextureRegistry(AssetManager assets, boolean useCache) {
+        this.assets = assets;
+        this.useCache = useCache;
+        entries = new ObjectMap<>();
+        if (useCache) {
+            assets.setLoader(Texture.class, RawTextureData.EXTENSION, new RawTextureLoader(assets.getFileHandleResolver()));
+        }
+    }
+
+    /** Queues a texture or atlas for background loading without taking a reference. */
+    public void preload(String path, Class<? extends Disposable> type) {
+        assets.load(resolve(path), type);
+    }
+
+    /** Queues a font whose glyph page is a region of {@code atlasPath} named after the font's page. */
+    public void preloadFont(String path, String atlasPath) {
+        assets.load(path, BitmapFont.class, fontParameter(resolve(atlasPath)));
+    }
+
+    /**
+     * Does up to about {@code millis} of loading work on the GL thread. A single upload can't be
+     * split, so one large texture may overrun the slice. Returns whether everything queued is loaded.
+     */
+    public boolean update(int millis) {
+        return assets.update(millis);
+    }
+
+    /** Fraction of the queued files that are loaded, from 0 to 1. */
+    public float getProgress() {
+        return assets.getProgress();
+    }
+
+    public Texture acquire(String path) {
+        return acquire(path, Texture.class);
+    }
+
+    public TextureAtlas acquireAtlas(String path) {
+        return acquire(path, TextureAtlas.class);
+    }
+
+    public BitmapFont acquireFont(String path, String atlasPath) {
+        if (!assets.contains(path)) {
+            assets.load(path, BitmapFont.class, fontParameter(resolve(atlasPath)));
+        }
+        return acquire(path, BitmapFont.class);
+    }
+
+    private <T> T acquire(String path, Class<T> type) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            String assetPath = resolve(path);
+            if (!assets.contains(assetPath)) {
+                assets.load(assetPath, type);
+            }
+            entry = new Entry(assetPath, assets.finishLoadingAsset(assetPath));
+            entries.put(path, entry);
+        }
+        entry.references++;
+        return type.cast(entry.resource);
+    }
+
+    /** The file actually loaded for {@code path}: its cached copy if the cache is on and has one. */
+    private String resolve(String path) {
+        if (!useCache) {
+            return path;
+        }
+        String cached = CACHE_DIR + (path.endsWith(".png")
+            ? path.substring(0, path.length() - ".png".length()) + RawTextureData.EXTENSION
+            : path);
+        return assets.getFileHandleResolver().resolve(cached).exists() ? cached : path;
+    }
+
+    /** Whether {@code path} is loaded from the texture cache rather than the original file. */
+    public boolean isCached(String path) {
+        return !resolve(path).equals(path);
+    }
+
+    public void release(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            throw new GdxRuntimeException("Texture was not acquired: " + path);
+        }
+        entry.references--;
+        if (entry.references <= 0) {
+            assets.unload(entry.assetPath);
+            entries.remove(path);
+        }
+    }
+
+    public int getReferenceCount(String path) {
+        Entry entry = entries.get(path);
+        return entry == null ? 0 : entry.references;
+    }
+
+    public int size() {
+        return entries.size;
+    }
+
+    @Override
+    public void dispose() {
+        assets.dispose();
+        entries.clear();
+    }
+
+    private static BitmapFontLoader.BitmapFontParameter fontParameter(String atlasPath) {
+        BitmapFontLoader.BitmapFontParameter parameter = new BitmapFontLoader.BitmapFontParameter();
+        parameter.atlasName = atlasPath;
+        return parameter;
+    }
+
+    public static TextureRegion findRegion(TextureAtlas atlas, String name) {
+        TextureRegion region = atlas.findRegion(name);
+        if (region == null) {
+            throw new GdxRuntimeException("Missing atlas region: " + name);
+        }
+        return region;
+    }
+
+    private static class Entry {
+        private final String assetPath;
+        private final Object resource;
+        private int references;
+
+        private Entry(String assetPath, Object resource) {
+            this.assetPath = assetPath;
+            this.resource = resource;
+        }
+    }
+}
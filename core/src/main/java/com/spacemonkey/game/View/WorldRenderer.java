@@ -0,0 +1,165 @@
+package com.spacemonkey.game.View;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Model.AsteroidField;
+import com.spacemonkey.game.Model.Fruit;
+import com.spacemonkey.game.Model.Ship;
+import com.spacemonkey.game.World;
+
+/**
+ * Draws the entities of a {@link World}, interpolated between the last two simulation ticks.
+ * Asteroids and fruits outside the {@link GameRenderer}'s view are skipped before they reach the
+ * batch. On GL 3 contexts the asteroids are drawn with one instanced call instead of through
+ * the batch.
+ */
+public class WorldRenderer {
+    private static final float HEALTH_BAR_WIDTH = 200.0f;
+    private static final float HEALTH_BAR_HEIGHT = 100.0f;
+    // Half the diagonal of a unit square: the radius that holds a rotated quad.
+    private static final float QUAD_BOUNDS = 0.7072f;
+
+    private final GameRenderer renderer;
+    private final TextureRegistry textures;
+    private final TextureRegion[] asteroidRegions;
+    private final TextureRegion[] fruitRegions;
+    private final TextureRegion shipRegion;
+    private final TextureRegion healthBarRegion;
+    private final InstancedAsteroidRenderer instancedAsteroids;
+
+    public WorldRenderer(GameRenderer renderer, TextureRegistry textures, int maxAsteroids) {
+        this.renderer = renderer;
+        this.textures = textures;
+
+        TextureAtlas atlas = textures.acquireAtlas(TextureRegistry.GAME_ATLAS);
+        asteroidRegions = new TextureRegion[AsteroidField.TYPE_COUNT];
+        asteroidRegions[AsteroidField.TYPE_NORMAL] = TextureRegistry.findRegion(atlas, "asteroid");
+        asteroidRegions[AsteroidField.TYPE_FRIZE] = TextureRegistry.findRegion(atlas, "asteroid_frize");
+        asteroidRegions[AsteroidField.TYPE_FIRE] = TextureRegistry.findRegion(atlas, "asteroid_fire");
+
+        fruitRegions = new TextureRegion[Fruit.TYPE_COUNT];
+        fruitRegions[Fruit.TYPE_GRAPE] = TextureRegistry.findRegion(atlas, "fruit2");
+        fruitRegions[Fruit.TYPE_BANANA] = TextureRegistry.findRegion(atlas, "fruit1");
+
+        shipRegion = TextureRegistry.findRegion(atlas, "monkeySpaceShip");
+        healthBarRegion = TextureRegistry.findRegion(atlas, "healthbar");
+
+        instancedAsteroids = InstancedAsteroidRenderer.isSupported()
+            ? new InstancedAsteroidRenderer(maxAsteroids, asteroidRegions)
+            : null;
+    }
+
+    public boolean isInstancingAsteroids() {
+        return instancedAsteroids != null;
+    }
+
+    public void drawAsteroids(AsteroidField asteroids, float alpha) {
+        float[] x = asteroids.getX();
+        float[] y = asteroids.getY();
+        float[] previousX = asteroids.getPreviousX();
+        float[] previousY = asteroids.getPreviousY();
+        float[] rotation = asteroids.getRotation();
+        float[] previousRotation = asteroids.getPreviousRotation();
+        float[] diameter = asteroids.getDiameter();
+        byte[] type = asteroids.getType();
+
+        for (int i = 0, n = asteroids.size(); i < n; i++) {
+            float d = diameter[i];
+            float drawX = previousX[i] + (x[i] - previousX[i]) * alpha;
+            float drawY = previousY[i] + (y[i] - previousY[i]) * alpha;
+            if (!renderer.isVisible(drawX, drawY, d * QUAD_BOUNDS)) {
+                continue;
+            }
+            float drawRotation = previousRotation[i] + (rotation[i] - previousRotation[i]) * alpha;
+            if (instancedAsteroids != null) {
+                instancedAsteroids.add(drawX, drawY, d, drawRotation, type[i]);
+                continue;
+            }
+            renderer.renderAdvance(
+                asteroidRegions[type[i]],
+                drawX - d / 2,
+                drawY - d / 2,
+                d,
+                drawRotation * MathUtils.radiansToDegrees
+            );
+        }
+        if (instancedAsteroids != null) {
+            renderer.renderInstances(instancedAsteroids);
+        }
+    }
+
+    public void drawFruits(Array<Fruit> fruits) {
+        for (int i = 0; i < fruits.size; i++) {
+            Fruit fruit = fruits.get(i);
+            Vector2 position = fruit.getPosition();
+            if (!renderer.isVisible(position.x, position.y, fruit.size * QUAD_BOUNDS)) {
+                continue;
+            }
+            renderer.render(fruitRegions[fruit.getType()],
+                position.x - fruit.size / 2,
+                position.y - fruit.size / 2,
+                fruit.size, fruit.size);
+        }
+    }
+
+    public void drawShip(Ship ship, Controller controller, float alpha) {
+        // Blink while invulnerable.
+        if (controller.isInvulnerable() && (int)(controller.getInvulnerabilityTimer() * 10.0f) % 2 != 0) {
+            return;
+        }
+
+        Vector2 position = ship.getPosition();
+        Vector2 previous = ship.getPreviousPosition();
+        float drawX = position.x;
+        float drawY = position.y;
+        // Don't interpolate across a screen wrap, or the ship would sweep the whole screen for a frame.
+        if (Math.abs(position.x - previous.x) < ship.getWidth() && Math.abs(position.y - previous.y) < ship.getHeight()) {
+            drawX = previous.x + (position.x - previous.x) * alpha;
+            drawY = previous.y + (position.y - previous.y) * alpha;
+        }
+
+        renderer.render(
+            shipRegion,
+            drawX - ship.getWidth() / 2,
+            drawY - ship.getHeight() / 2,
+            ship.getWidth(), ship.getHeight()
+        );
+    }
+
+    public void drawHealthBar(HudRenderer hud, Ship ship) {
+        float x = 5;
+        float y = World.WORLD_HEIGHT - HEALTH_BAR_HEIGHT - 5;
+        boolean[] lifeCountActive = ship.getLifeCountActive();
+
+        // Draw health units
+        float healthWidth = (HEALTH_BAR_WIDTH - 40.0f) / ship.getMaxHealth();
+        float healthHeight = HEALTH_BAR_HEIGHT - 10.0f;
+
+        for (int i = 0; i < ship.getHealth(); i++) {
+            if (lifeCountActive[i]) {
+                hud.rect(
+                    x + 10.0f + (i * healthWidth) + (i * 5.0f),
+                    y + 20.0f,
+                    healthWidth,
+                    healthHeight - HEALTH_BAR_HEIGHT / 2,
+                    Color.RED
+                );
+            }
+        }
+
+        // Draw health bar background
+        renderer.render(healthBarRegion, x, y, HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT);
+    }
+
+    public void dispose() {
+        if (instancedAsteroids != null) {
+            instancedAsteroids.dispose();
+        }
+        textures.release(TextureRegistry.GAME_ATLAS);
+    }
+}
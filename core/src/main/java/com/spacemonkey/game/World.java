@@ -0,0 +1,426 @@
+package com.spacemonkey.game;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Controller.InputCommand;
+import com.spacemonkey.game.Model.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The whole gameplay state: ship, controller, asteroids, fruits, score and spawn timers.
+ * It is advanced one fixed tick at a time from an {@link InputCommand} and never touches
+ * rendering or the {@code Gdx} statics, so it can be stepped without a window or GL context.
+ * All randomness comes from one generator seeded at construction, so the same seed and the same
+ * sequence of commands always produce the same session.
+ */
+public class World implements WorldView {
+    public static final float WORLD_WIDTH = 1280;
+    public static final float WORLD_HEIGHT = 720;
+
+    public static final int MAX_ASTEROIDS = 60;
+    private static final float ASTEROID_SPAWN_TIMER_MAX = 1.0f;
+
+    public static final int WIN_FRUIT_NUMBER = 30;
+    public static final int MAX_FRUIT = 6;
+    private static final float FRUIT_SPAWN_TIMER_MAX = 1.0f;
+
+    private static final float BROADPHASE_CELL_SIZE = 128.0f;
+    private static final float BROADPHASE_PADDING = 120.0f;
+
+    /** Below this many asteroids, forking costs more than it saves and the update stays serial. */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    private final long seed;
+    private final RandomXS128 random;
+
+    private final Ship ship;
+    private final Controller controller;
+
+    private final AsteroidFactory asteroidFactory;
+    private final AsteroidField asteroids;
+    private final SpatialHash asteroidHash;
+    private final int maxAsteroids;
+    private int asteroidFloor = 0;
+    private ParallelAsteroidUpdate parallelAsteroids;
+    private float asteroidSpawnTimer = 0.0f;
+
+    private final FruitFactory fruitFactory;
+    private final Array<Fruit> fruits;
+    private final SpatialHash fruitHash;
+    private float fruitSpawnTimer = 0.0f;
+    private int activeFruitCount = 0;
+    private int collectedFruit = 0;
+
+    // Running totals since construction, not cleared by reset(), for metrics.
+    private long asteroidsSpawned = 0;
+    private long fruitsSpawned = 0;
+    private long shipHits = 0;
+    private long fruitsCollected = 0;
+
+    private final IntArray collisionResults;
+
+    private double timePass = 0.0;
+    private SectionTimer timer = new SectionTimer();
+    private WorldListener listener = WorldListener.NONE;
+    private boolean wasDashing = false;
+    private boolean gameOver = false;
+
+    public World(SpawnTables spawnTables, long seed) {
+        this(MAX_ASTEROIDS, spawnTables, seed);
+    }
+
+    public World(int maxAsteroids, SpawnTables spawnTables, long seed) {
+        this.seed = seed;
+        this.random = new RandomXS128(seed);
+        this.maxAsteroids = maxAsteroids;
+        this.ship = new Ship();
+        this.controller = new Controller(ship);
+
+        this.asteroidFactory = new AsteroidFactory(spawnTables.getAsteroids(), random);
+        this.asteroids = new AsteroidField(maxAsteroids);
+        this.asteroidHash = new SpatialHash(WORLD_WIDTH, WORLD_HEIGHT, BROADPHASE_PADDING, BROADPHASE_CELL_SIZE, maxAsteroids);
+
+        this.fruitFactory = new FruitFactory(MAX_FRUIT, spawnTables.getFruits(), random);
+        this.fruits = new Array<>(MAX_FRUIT + 5);
+        this.fruitHash = new SpatialHash(WORLD_WIDTH, WORLD_HEIGHT, BROADPHASE_PADDING, BROADPHASE_CELL_SIZE, MAX_FRUIT + 5);
+
+        this.collisionResults = new IntArray(maxAsteroids);
+    }
+
+    /**
+     * Runs one tick of a session, including its session commands. {@code menu} abandons the
+     * session and {@code restart} starts a new one once it is over; either way the tick ends there.
+     */
+    public void tick(InputCommand input, float dt) {
+        if (input.menu || (input.restart && isSessionOver())) {
+            reset();
+            return;
+        }
+        step(input, dt);
+    }
+
+    /** Advances the simulation by one fixed tick. Does nothing once the session is over. */
+    public void step(InputCommand input, float dt) {
+        if (isSessionOver()) {
+            return;
+        }
+        timePass += dt;
+
+        ship.savePreviousState();
+        asteroids.savePreviousState();
+
+        timer.begin(SectionTimer.UPDATE_DASH);
+        controller.updateDash(input, dt);
+        notifyDash();
+        timer.end(SectionTimer.UPDATE_DASH);
+
+        timer.begin(SectionTimer.UPDATE_ASTEROIDS);
+        updateAsteroids(dt);
+        timer.end(SectionTimer.UPDATE_ASTEROIDS);
+
+        timer.begin(SectionTimer.UPDATE_FRUITS);
+        updateFruits(dt);
+        timer.end(SectionTimer.UPDATE_FRUITS);
+    }
+
+    /** The controller dashes on its own; its state is compared tick to tick to find the edges. */
+    private void notifyDash() {
+        boolean dashing = controller.isDashing();
+        if (dashing != wasDashing) {
+            Vector2 position = ship.getPosition();
+            if (dashing) {
+                Vector2 direction = controller.getDashDirection();
+                listener.dashStarted(position.x, position.y, direction.x, direction.y);
+            } else {
+                listener.dashEnded(position.x, position.y);
+            }
+            wasDashing = dashing;
+        }
+    }
+
+    private void updateAsteroids(float delta) {
+        asteroidSpawnTimer -= delta;
+        if (asteroidSpawnTimer <= 0.0f) {
+            spawnAsteroid();
+            asteroidSpawnTimer = ASTEROID_SPAWN_TIMER_MAX;
+        }
+
+        if (parallelAsteroids != null && asteroids.size() >= PARALLEL_THRESHOLD) {
+            updateAsteroidsParallel(delta);
+            return;
+        }
+
+        asteroids.update(delta);
+        asteroids.cull(WORLD_WIDTH, WORLD_HEIGHT);
+        while (asteroids.size() < asteroidFloor) {
+            spawnAsteroid();
+        }
+
+        asteroidHash.clear();
+        asteroidHash.insertAll(asteroids);
+
+        if (!controller.isInvulnerable() && !gameOver) {
+            Vector2 shipPosition = ship.getPosition();
+            if (asteroidHash.queryCircle(shipPosition.x, shipPosition.y, ship.getRadius(), collisionResults) > 0) {
+                playerTakeDamage();
+            }
+        }
+    }
+
+    /**
+     * The serial update, result for result, with the integration, cull test and ship test split
+     * across the pool. For the ship's single query, testing every surviving asteroid in the chunks
+     * is cheaper than rebuilding the broadphase, so the hash is left empty on this path.
+     */
+    private void updateAsteroidsParallel(float delta) {
+        boolean testShip = !controller.isInvulnerable() && !gameOver;
+        Vector2 shipPosition = ship.getPosition();
+        boolean hit = parallelAsteroids.step(delta, WORLD_WIDTH, WORLD_HEIGHT,
+            testShip, shipPosition.x, shipPosition.y, ship.getRadius());
+
+        int survivors = asteroids.size();
+        while (asteroids.size() < asteroidFloor) {
+            spawnAsteroid();
+        }
+        // Emptied rather than left stale; its candidate and hit counters stay where they were.
+        asteroidHash.clear();
+
+        if (testShip && (hit || asteroids.overlapsAny(survivors, asteroids.size(),
+            shipPosition.x, shipPosition.y, ship.getRadius(), null))) {
+            playerTakeDamage();
+        }
+    }
+
+    private void updateFruits(float delta) {
+        fruitSpawnTimer -= delta;
+        if (activeFruitCount < MAX_FRUIT && fruitSpawnTimer <= 0.0f) {
+            spawnFruit();
+            fruitSpawnTimer = FRUIT_SPAWN_TIMER_MAX;
+        }
+
+        if (!controller.isInvulnerable() && !gameOver) {
+            fruitHash.clear();
+            for (int i = 0; i < fruits.size; i++) {
+                Fruit fruit = fruits.get(i);
+                fruitHash.insert(i, fruit.getPosition().x, fruit.getPosition().y, fruit.size / 2.0f);
+            }
+
+            Vector2 shipPosition = ship.getPosition();
+            if (fruitHash.queryCircle(shipPosition.x, shipPosition.y, ship.getRadius(), collisionResults) > 0) {
+                // Remove from the highest index down so the remaining indices stay valid.
+                collisionResults.sort();
+                for (int i = collisionResults.size - 1; i >= 0; i--) {
+                    Fruit fruit = fruits.removeIndex(collisionResults.get(i));
+                    collectedFruit += fruit.getValuse();
+                    fruitsCollected++;
+                    listener.fruitCollected(fruit.getPosition().x, fruit.getPosition().y, fruit.getType());
+                    activeFruitCount--;
+                    fruitFactory.free(fruit);
+                }
+            }
+        }
+    }
+
+    private void spawnAsteroid() {
+        if (asteroids.size() < maxAsteroids) {
+            asteroidFactory.CreateAstroid(asteroids, timePass, WORLD_WIDTH, WORLD_HEIGHT);
+            asteroidsSpawned++;
+        }
+    }
+
+    private void spawnFruit() {
+        fruits.add(fruitFactory.CreateFruit(timePass, WORLD_WIDTH, WORLD_HEIGHT, ship));
+        activeFruitCount++;
+        fruitsSpawned++;
+    }
+
+    private void playerTakeDamage() {
+        if (!controller.isInvulnerable()) {
+            ship.takeDamage();
+            shipHits++;
+            listener.shipHit(ship.getPosition().x, ship.getPosition().y);
+            controller.setInvulnerable(true, 2);
+
+            if (ship.getHealth() <= 0) {
+                gameOver = true;
+            }
+        }
+    }
+
+    /** Starts a fresh session: full health, no entities, difficulty back to the first phase. */
+    public void reset() {
+        timePass = 0.0;
+        gameOver = false;
+        ship.reset();
+        controller.reset();
+        wasDashing = false;
+        asteroids.clear();
+        fruitFactory.freeAll(fruits);
+        fruits.clear();
+        activeFruitCount = 0;
+        collectedFruit = 0;
+        asteroidSpawnTimer = 0.0f;
+        fruitSpawnTimer = 0.0f;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public boolean isWon() {
+        return collectedFruit >= WIN_FRUIT_NUMBER;
+    }
+
+    public boolean isSessionOver() {
+        return gameOver || isWon();
+    }
+
+    /**
+     * Keeps at least {@code count} asteroids in the field by spawning replacements for culled ones
+     * every tick, capped at the world's maximum. Used to hold a stress-level population.
+     */
+    public void setAsteroidFloor(int count) {
+        this.asteroidFloor = Math.min(count, maxAsteroids);
+    }
+
+    /**
+     * Updates fields of {@link #PARALLEL_THRESHOLD} or more asteroids on {@code pool}; null keeps
+     * everything on the calling thread. The simulation is bit-identical either way.
+     */
+    public void setParallelism(ForkJoinPool pool) {
+        this.parallelAsteroids = pool == null ? null : new ParallelAsteroidUpdate(pool, asteroids);
+    }
+
+    /** Reports gameplay events to {@code listener}; {@link WorldListener#NONE} turns that off. */
+    public void setListener(WorldListener listener) {
+        this.listener = listener;
+    }
+
+    /** Times the update sections into {@code timer}; a disabled timer costs nothing. */
+    public void setSectionTimer(SectionTimer timer) {
+        this.timer = timer;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public Ship getShip() {
+        return ship;
+    }
+
+    @Override
+    public Controller getController() {
+        return controller;
+    }
+
+    @Override
+    public AsteroidField getAsteroids() {
+        return asteroids;
+    }
+
+    public AsteroidFactory getAsteroidFactory() {
+        return asteroidFactory;
+    }
+
+    /**
+     * The asteroid broadphase and its candidate and hit counters. On the parallel path (see
+     * {@link #setParallelism}) the ship is tested without it, so it stays empty and its counters
+     * don't move while that path runs.
+     */
+    public SpatialHash getAsteroidHash() {
+        return asteroidHash;
+    }
+
+    @Override
+    public Array<Fruit> getFruits() {
+        return fruits;
+    }
+
+    public FruitFactory getFruitFactory() {
+        return fruitFactory;
+    }
+
+    @Override
+    public int getFruitPoolFree() {
+        return fruitFactory.getPool().getFree();
+    }
+
+    @Override
+    public int getFruitPoolMisses() {
+        return fruitFactory.getPool().getMisses();
+    }
+
+    @Override
+    public int getCollectedFruit() {
+        return collectedFruit;
+    }
+
+    @Override
+    public long getAsteroidsSpawned() {
+        return asteroidsSpawned;
+    }
+
+    @Override
+    public long getFruitsSpawned() {
+        return fruitsSpawned;
+    }
+
+    /** Asteroid collisions that cost the ship health. */
+    @Override
+    public long getShipHits() {
+        return shipHits;
+    }
+
+    /** Fruit collisions, i.e. pickups. */
+    @Override
+    public long getFruitsCollected() {
+        return fruitsCollected;
+    }
+
+    public double getTimePass() {
+        return timePass;
+    }
+
+    /** A hash of the simulation state, for checking that two runs are identical. */
+    public long checksum() {
+        long hash = seed;
+        hash = hash * 31 + Double.doubleToLongBits(timePass);
+        hash = hash * 31 + Float.floatToIntBits(ship.getPosition().x);
+        hash = hash * 31 + Float.floatToIntBits(ship.getPosition().y);
+        hash = hash * 31 + Float.floatToIntBits(ship.getVelocity().x);
+        hash = hash * 31 + Float.floatToIntBits(ship.getVelocity().y);
+        hash = hash * 31 + ship.getHealth();
+        hash = hash * 31 + collectedFruit;
+        hash = hash * 31 + (gameOver ? 1 : 0);
+
+        float[] x = asteroids.getX();
+        float[] y = asteroids.getY();
+        byte[] type = asteroids.getType();
+        for (int i = 0, n = asteroids.size(); i < n; i++) {
+            hash = hash * 31 + Float.floatToIntBits(x[i]);
+            hash = hash * 31 + Float.floatToIntBits(y[i]);
+            hash = hash * 31 + type[i];
+        }
+        for (int i = 0; i < fruits.size; i++) {
+            Fruit fruit = fruits.get(i);
+            hash = hash * 31 + Float.floatToIntBits(fruit.getPosition().x);
+            hash = hash * 31 + Float.floatToIntBits(fruit.getPosition().y);
+            hash = hash * 31 + fruit.getType();
+        }
+        return hash;
+    }
+
+    public void dispose() {
+        fruitFactory.freeAll(fruits);
+        fruits.clear();
+        fruitFactory.dispose();
+    }
+}
@@ -0,0 +1,100 @@
+package com.spacemonkey.game;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carries {@link WorldListener} events from the simulation thread to the render thread. It is a
+ * fixed ring for exactly one producer and one consumer: the world reports into it, and the render
+ * thread replays everything reported so far into the real listener with {@link #drainTo}. Neither
+ * side locks or allocates; when the ring is full, new events are dropped.
+ */
+public class WorldEventQueue implements WorldListener {
+    private static final int DASH_STARTED = 0;
+    private static final int DASH_ENDED = 1;
+    private static final int SHIP_HIT = 2;
+    private static final int FRUIT_COLLECTED = 3;
+
+    private final int mask;
+    private final byte[] kind;
+    private final float[] x;
+    private final float[] y;
+    private final float[] directionX;
+    private final float[] directionY;
+    private final int[] type;
+    // Both only grow. The producer owns tail and the consumer head; each only reads the other's.
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /** {@code capacity} is rounded up to a power of two. */
+    public WorldEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        mask = size - 1;
+        kind = new byte[size];
+        x = new float[size];
+        y = new float[size];
+        directionX = new float[size];
+        directionY = new float[size];
+        type = new int[size];
+    }
+
+    @Override
+    public void dashStarted(float x, float y, float directionX, float directionY) {
+        put(DASH_STARTED, x, y, directionX, directionY, 0);
+    }
+
+    @Override
+    public void dashEnded(float x, float y) {
+        put(DASH_ENDED, x, y, 0.0f, 0.0f, 0);
+    }
+
+    @Override
+    public void shipHit(float x, float y) {
+        put(SHIP_HIT, x, y, 0.0f, 0.0f, 0);
+    }
+
+    @Override
+    public void fruitCollected(float x, float y, int type) {
+        put(FRUIT_COLLECTED, x, y, 0.0f, 0.0f, type);
+    }
+
+    private void put(int kind, float x, float y, float directionX, float directionY, int type) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            return;
+        }
+        int i = (int)t & mask;
+        this.kind[i] = (byte)kind;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.directionX[i] = directionX;
+        this.directionY[i] = directionY;
+        this.type[i] = type;
+        // Publishes the slot's fields along with the new tail.
+        tail.lazySet(t + 1);
+    }
+
+    /** Delivers every event reported so far to {@code listener}, oldest first. Consumer thread only. */
+    public void drainTo(WorldListener listener) {
+        long h = head.get();
+        long t = tail.get();
+        for (; h < t; h++) {
+            int i = (int)h & mask;
+            switch (kind[i]) {
+                case DASH_STARTED:
+                    listener.dashStarted(x[i], y[i], directionX[i], directionY[i]);
+                    break;
+                case DASH_ENDED:
+                    listener.dashEnded(x[i], y[i]);
+                    break;
+                case SHIP_HIT:
+                    listener.shipHit(x[i], y[i]);
+                    break;
+                default:
+                    listener.fruitCollected(x[i], y[i], type[i]);
+                    break;
+            }
+        }
+        // Hands the slots back to the producer only after they have been read.
+        head.lazySet(t);
+    }
+}
@@ -0,0 +1,39 @@
+package com.spacemonkey.game;
+
+/**
+ * Hears about gameplay events as {@link World} simulates them, for effects that aren't part of
+ * the simulation. Called from inside a tick with plain coordinates, so a listener must not
+ * allocate and must not change the world; the simulation is the same with or without one.
+ */
+public interface WorldListener {
+    /** Hears nothing. */
+    WorldListener NONE = new WorldListener() {
+        @Override
+        public void dashStarted(float x, float y, float directionX, float directionY) {
+        }
+
+        @Override
+        public void dashEnded(float x, float y) {
+        }
+
+        @Override
+        public void shipHit(float x, float y) {
+        }
+
+        @Override
+        public void fruitCollected(float x, float y, int type) {
+        }
+    };
+
+    /** The ship started a dash at ({@code x}, {@code y}) along the given unit direction. */
+    void dashStarted(float x, float y, float directionX, float directionY);
+
+    /** The ship finished a dash at ({@code x}, {@code y}). */
+    void dashEnded(float x, float y);
+
+    /** An asteroid cost the ship health at ({@code x}, {@code y}). */
+    void shipHit(float x, float y);
+
+    /** The ship picked up a fruit of {@code type} (see {@code Fruit.getType()}) at its position. */
+    void fruitCollected(float x, float y, int type);
+}
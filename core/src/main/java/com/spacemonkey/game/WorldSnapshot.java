@@ -0,0 +1,143 @@
+package com.spacemonkey.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Model.AsteroidField;
+import com.spacemonkey.game.Model.Fruit;
+import com.spacemonkey.game.Model.Ship;
+
+/**
+ * A copy of everything a frame draws from a {@link World}, taken at the end of a tick so the
+ * simulation thread can move on while the render thread draws it. All storage is made up front
+ * and overwritten by {@link #copyFrom}, so taking a snapshot doesn't allocate.
+ */
+public class WorldSnapshot implements WorldView {
+    private final Ship ship = new Ship();
+    private final Controller controller = new Controller(ship);
+    private final AsteroidField asteroids;
+    private final Fruit[] fruitStore;
+    private final Array<Fruit> fruits;
+
+    private int collectedFruit;
+    private boolean gameOver;
+    private boolean won;
+    private int fruitPoolFree;
+    private int fruitPoolMisses;
+    private long asteroidsSpawned;
+    private long fruitsSpawned;
+    private long shipHits;
+    private long fruitsCollected;
+    private long publishNanos;
+
+    public WorldSnapshot(int maxAsteroids) {
+        asteroids = new AsteroidField(maxAsteroids);
+        fruitStore = new Fruit[World.MAX_FRUIT];
+        for (int i = 0; i < fruitStore.length; i++) {
+            fruitStore[i] = new Fruit();
+        }
+        fruits = new Array<>(fruitStore.length);
+    }
+
+    /** Copies {@code world} as it is now and stamps the copy with the current time. */
+    public void copyFrom(World world) {
+        ship.set(world.getShip());
+        controller.set(world.getController());
+        asteroids.copyFrom(world.getAsteroids());
+
+        Array<Fruit> source = world.getFruits();
+        fruits.clear();
+        for (int i = 0; i < source.size; i++) {
+            Fruit from = source.get(i);
+            Fruit to = fruitStore[i];
+            to.init(from.getType(), from.getValuse());
+            to.setPosition(from.getPosition());
+            to.size = from.size;
+            fruits.add(to);
+        }
+
+        collectedFruit = world.getCollectedFruit();
+        gameOver = world.isGameOver();
+        won = world.isWon();
+        fruitPoolFree = world.getFruitPoolFree();
+        fruitPoolMisses = world.getFruitPoolMisses();
+        asteroidsSpawned = world.getAsteroidsSpawned();
+        fruitsSpawned = world.getFruitsSpawned();
+        shipHits = world.getShipHits();
+        fruitsCollected = world.getFruitsCollected();
+        publishNanos = System.nanoTime();
+    }
+
+    /**
+     * How far to interpolate from the tick's start state towards this state for a frame drawn at
+     * {@code now}: the time since the snapshot was taken as a fraction of one tick, clamped to 0..1.
+     */
+    public float alpha(long now, long stepNanos) {
+        float alpha = (float)(now - publishNanos) / stepNanos;
+        return Math.max(0.0f, Math.min(1.0f, alpha));
+    }
+
+    @Override
+    public Ship getShip() {
+        return ship;
+    }
+
+    @Override
+    public Controller getController() {
+        return controller;
+    }
+
+    @Override
+    public AsteroidField getAsteroids() {
+        return asteroids;
+    }
+
+    @Override
+    public Array<Fruit> getFruits() {
+        return fruits;
+    }
+
+    @Override
+    public int getCollectedFruit() {
+        return collectedFruit;
+    }
+
+    @Override
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public boolean isWon() {
+        return won;
+    }
+
+    @Override
+    public int getFruitPoolFree() {
+        return fruitPoolFree;
+    }
+
+    @Override
+    public int getFruitPoolMisses() {
+        return fruitPoolMisses;
+    }
+
+    @Override
+    public long getAsteroidsSpawned() {
+        return asteroidsSpawned;
+    }
+
+    @Override
+    public long getFruitsSpawned() {
+        return fruitsSpawned;
+    }
+
+    @Override
+    public long getShipHits() {
+        return shipHits;
+    }
+
+    @Override
+    public long getFruitsCollected() {
+        return fruitsCollected;
+    }
+}
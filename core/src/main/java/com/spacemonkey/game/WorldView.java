@@ -0,0 +1,40 @@
+package com.spacemonkey.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.spacemonkey.game.Controller.Controller;
+import com.spacemonkey.game.Model.AsteroidField;
+import com.spacemonkey.game.Model.Fruit;
+import com.spacemonkey.game.Model.Ship;
+
+/**
+ * The state the renderer, the overlay and the metrics read: either the live {@link World}, or a
+ * {@link WorldSnapshot} of it when the simulation runs on its own thread. Readers must treat
+ * everything returned as read-only.
+ */
+public interface WorldView {
+    Ship getShip();
+
+    Controller getController();
+
+    AsteroidField getAsteroids();
+
+    Array<Fruit> getFruits();
+
+    int getCollectedFruit();
+
+    boolean isGameOver();
+
+    boolean isWon();
+
+    int getFruitPoolFree();
+
+    int getFruitPoolMisses();
+
+    long getAsteroidsSpawned();
+
+    long getFruitsSpawned();
+
+    long getShipHits();
+
+    long getFruitsCollected();
+}
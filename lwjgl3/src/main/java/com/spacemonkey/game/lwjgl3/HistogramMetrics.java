@@ -0,0 +1,250 @@
+package com.spacemonkey.game.lwjgl3;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.spacemonkey.game.Metrics;
+import com.spacemonkey.game.WorldView;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records frame, update and render times into HdrHistograms and writes them out every interval
+ * and on exit:
+ * <ul>
+ *     <li>{@code frame.hlog}, {@code update.hlog}, {@code render.hlog}: one interval histogram per
+ *     line in HdrHistogram's log format, for {@code HistogramLogProcessor} or the online plotter.</li>
+ *     <li>{@code metrics.csv}: one row per interval with percentiles in milliseconds, spawn and
+ *     collision counts, GC collections and heap use.</li>
+ *     <li>{@code summary.csv}: the same columns over the whole run.</li>
+ * </ul>
+ * Recording a frame doesn't allocate. Writing an interval does, a little, so at most one GC per
+ * interval may be ours.
+ */
+public class HistogramMetrics implements Metrics {
+    private static final long HIGHEST_NANOS = 60_000_000_000L;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String CSV_HEADER =
+        "elapsed_s,frames,frame_p50_ms,frame_p99_ms,frame_p999_ms,frame_max_ms,"
+            + "update_p50_ms,update_p99_ms,update_max_ms,render_p50_ms,render_p99_ms,render_max_ms,"
+            + "asteroids_spawned,fruits_spawned,ship_hits,fruits_collected,gc_count,gc_ms,heap_used_mb";
+
+    private final FileHandle dir;
+    private final long intervalNanos;
+    private final long startMillis;
+    private final long startNanos;
+    private long nextFlush;
+
+    private final Histogram frame = histogram();
+    private final Histogram update = histogram();
+    private final Histogram render = histogram();
+    private final Histogram frameTotal = histogram();
+    private final Histogram updateTotal = histogram();
+    private final Histogram renderTotal = histogram();
+
+    private final HistogramLogWriter frameLog;
+    private final HistogramLogWriter updateLog;
+    private final HistogramLogWriter renderLog;
+    private final PrintStream csv;
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Counters start = new Counters();
+    private final Counters intervalStart = new Counters();
+    private final Counters now = new Counters();
+    private long intervalStartMillis;
+    private WorldView world;
+
+    public HistogramMetrics(String directory, float intervalSeconds) {
+        dir = new FileHandle(directory);
+        dir.mkdirs();
+        if (!dir.isDirectory()) {
+            throw new GdxRuntimeException("Couldn't create metrics directory: " + directory);
+        }
+        intervalNanos = (long)(intervalSeconds * 1_000_000_000.0);
+        startMillis = System.currentTimeMillis();
+        startNanos = System.nanoTime();
+        nextFlush = startNanos + intervalNanos;
+        intervalStartMillis = startMillis;
+
+        frameLog = log("frame.hlog", "frame time");
+        updateLog = log("update.hlog", "update time");
+        renderLog = log("render.hlog", "render time");
+        csv = stream("metrics.csv");
+        csv.println(CSV_HEADER);
+
+        readGc(start);
+        intervalStart.set(start);
+    }
+
+    @Override
+    public void frame(long frameNanos, long updateNanos, long renderNanos, WorldView world) {
+        this.world = world;
+        if (frameNanos > 0) {
+            frame.recordValue(Math.min(frameNanos, HIGHEST_NANOS));
+        }
+        update.recordValue(Math.min(updateNanos, HIGHEST_NANOS));
+        render.recordValue(Math.min(renderNanos, HIGHEST_NANOS));
+
+        long nanos = System.nanoTime();
+        if (nanos >= nextFlush) {
+            flush();
+            nextFlush += intervalNanos;
+            // After a stall longer than an interval, start counting again from now instead of
+            // writing one near-empty row per frame until the schedule catches up.
+            if (nextFlush <= nanos) {
+                nextFlush = nanos + intervalNanos;
+            }
+        }
+    }
+
+    private void flush() {
+        long endMillis = System.currentTimeMillis();
+        now.read(world);
+        readGc(now);
+
+        stamp(frame, endMillis);
+        stamp(update, endMillis);
+        stamp(render, endMillis);
+        frameLog.outputIntervalHistogram(frame);
+        updateLog.outputIntervalHistogram(update);
+        renderLog.outputIntervalHistogram(render);
+
+        writeRow(csv, endMillis, frame, update, render, intervalStart, now);
+        csv.flush();
+
+        frameTotal.add(frame);
+        updateTotal.add(update);
+        renderTotal.add(render);
+        frame.reset();
+        update.reset();
+        render.reset();
+        intervalStart.set(now);
+        intervalStartMillis = endMillis;
+    }
+
+    @Override
+    public void dispose() {
+        if (frame.getTotalCount() > 0) {
+            flush();
+        }
+        frameLog.close();
+        updateLog.close();
+        renderLog.close();
+        csv.close();
+
+        now.read(world);
+        readGc(now);
+
+        PrintStream summary = stream("summary.csv");
+        summary.println(CSV_HEADER);
+        writeRow(summary, System.currentTimeMillis(), frameTotal, updateTotal, renderTotal, start, now);
+        summary.close();
+    }
+
+    private void stamp(Histogram histogram, long endMillis) {
+        histogram.setStartTimeStamp(intervalStartMillis);
+        histogram.setEndTimeStamp(endMillis);
+    }
+
+    private void writeRow(PrintStream out, long endMillis, Histogram frame, Histogram update, Histogram render,
+                          Counters from, Counters to) {
+        out.printf(Locale.ROOT, "%.1f,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%.1f%n",
+            (endMillis - startMillis) / 1000.0,
+            frame.getTotalCount(),
+            millis(frame.getValueAtPercentile(50.0)),
+            millis(frame.getValueAtPercentile(99.0)),
+            millis(frame.getValueAtPercentile(99.9)),
+            millis(frame.getMaxValue()),
+            millis(update.getValueAtPercentile(50.0)),
+            millis(update.getValueAtPercentile(99.0)),
+            millis(update.getMaxValue()),
+            millis(render.getValueAtPercentile(50.0)),
+            millis(render.getValueAtPercentile(99.0)),
+            millis(render.getMaxValue()),
+            to.asteroidsSpawned - from.asteroidsSpawned,
+            to.fruitsSpawned - from.fruitsSpawned,
+            to.shipHits - from.shipHits,
+            to.fruitsCollected - from.fruitsCollected,
+            to.gcCount - from.gcCount,
+            to.gcMillis - from.gcMillis,
+            memory.getHeapMemoryUsage().getUsed() / (1024.0 * 1024.0));
+    }
+
+    /** Adds up every collector; a collector that doesn't know its count reports -1 and is skipped. */
+    private void readGc(Counters counters) {
+        long count = 0;
+        long millis = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        counters.gcCount = count;
+        counters.gcMillis = millis;
+    }
+
+    private HistogramLogWriter log(String name, String comment) {
+        HistogramLogWriter writer = new HistogramLogWriter(stream(name));
+        writer.outputComment("Space Monkey " + comment + " in nanoseconds; max column in milliseconds");
+        writer.outputLogFormatVersion();
+        writer.setBaseTime(startMillis);
+        writer.outputBaseTime(startMillis);
+        writer.outputStartTime(startMillis);
+        writer.outputLegend();
+        return writer;
+    }
+
+    private PrintStream stream(String name) {
+        try {
+            return new PrintStream(dir.child(name).file(), "UTF-8");
+        } catch (FileNotFoundException | UnsupportedEncodingException e) {
+            throw new GdxRuntimeException("Couldn't open metrics file: " + dir.child(name).path(), e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static Histogram histogram() {
+        return new Histogram(HIGHEST_NANOS, SIGNIFICANT_DIGITS);
+    }
+
+    private static class Counters {
+        long asteroidsSpawned;
+        long fruitsSpawned;
+        long shipHits;
+        long fruitsCollected;
+        long gcCount;
+        long gcMillis;
+
+        void read(WorldView world) {
+            if (world == null) {
+                return;
+            }
+            asteroidsSpawned = world.getAsteroidsSpawned();
+            fruitsSpawned = world.getFruitsSpawned();
+            shipHits = world.getShipHits();
+            fruitsCollected = world.getFruitsCollected();
+        }
+
+        void set(Counters other) {
+            asteroidsSpawned = other.asteroidsSpawned;
+            fruitsSpawned = other.fruitsSpawned;
+            shipHits = other.shipHits;
+            fruitsCollected = other.fruitsCollected;
+            gcCount = other.gcCount;
+            gcMillis = other.gcMillis;
+        }
+    }
+}
@@ -2,15 +2,86 @@ package com.spacemonkey.game.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.spacemonkey.game.HeadlessReplay;
+import com.spacemonkey.game.LaunchOptions;
+import com.spacemonkey.game.Metrics;
 import com.spacemonkey.game.SpaceMonkeyGame;
+import com.spacemonkey.game.Controller.InputReplay;
+import com.spacemonkey.game.Model.SpawnTables;
+
+import java.io.File;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
+        LaunchOptions options = LaunchOptions.parse(args);
+        if (options.isHeadless()) {
+            runHeadless(options);
+            return;
+        }
+
         Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
         config.setTitle("Space Monkey");
-        config.setWindowedMode(1280, 720);
-        config.setForegroundFPS(60);
-        new Lwjgl3Application(new SpaceMonkeyGame(), config);
+        config.setWindowedMode(options.getWidth(), options.getHeight());
+        config.setBackBufferConfig(8, 8, 8, 8, 16, 0, options.getMsaa());
+        if (options.isGl30()) {
+            useGl30(config);
+        }
+        if (options.isBenchmark()) {
+            // Measure what the machine can do, not the display's refresh rate.
+            config.useVsync(false);
+            config.setForegroundFPS(0);
+        } else {
+            config.setForegroundFPS(60);
+        }
+        Metrics metrics = Metrics.NONE;
+        if (options.getMetricsDir() != null) {
+            metrics = new HistogramMetrics(options.getMetricsDir(), options.getMetricsInterval());
+        }
+        new Lwjgl3Application(new SpaceMonkeyGame(options, metrics), config);
+        if (options.isExitAfterFirstFrame()) {
+            printPeakRss();
+        }
+    }
+
+    /**
+     * Asks for a 3.2 core context, the newest macOS offers. Core contexts only compile GLSL 1.50, so
+     * every shader, SpriteBatch's included, gets a prefix that maps the GLSL 1.10 keywords onto it.
+     */
+    private static void useGl30(Lwjgl3ApplicationConfiguration config) {
+        config.setOpenGLEmulation(Lwjgl3ApplicationConfiguration.GLEmulation.GL30, 3, 2);
+        ShaderProgram.prependVertexCode = "#version 150\n"
+            + "#define attribute in\n"
+            + "#define varying out\n";
+        ShaderProgram.prependFragmentCode = "#version 150\n"
+            + "#define varying in\n"
+            + "#define texture2D texture\n"
+            + "#define gl_FragColor fragColor\n"
+            + "out vec4 fragColor;\n";
+    }
+
+    /** Prints the process's peak resident set size where the OS reports it (Linux), for compareStartup. */
+    private static void printPeakRss() {
+        File status = new File("/proc/self/status");
+        if (!status.exists()) {
+            return;
+        }
+        for (String line : new FileHandle(status).readString("UTF-8").split("\n")) {
+            if (line.startsWith("VmHWM:")) {
+                System.out.println("Peak RSS: " + line.substring("VmHWM:".length()).trim());
+            }
+        }
+    }
+
+    /** Replays a recording without opening a window; internal files resolve the same way as in the game. */
+    private static void runHeadless(LaunchOptions options) {
+        Lwjgl3Files files = new Lwjgl3Files();
+        InputReplay replay = InputReplay.load(new FileHandle(options.getReplayFile()));
+        HeadlessReplay run = new HeadlessReplay(replay, SpawnTables.load(files.internal(SpawnTables.DEFAULT_FILE)));
+        run.run();
+        System.out.println(run.summary());
     }
 }